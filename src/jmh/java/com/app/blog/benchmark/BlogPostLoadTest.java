@@ -0,0 +1,156 @@
+package com.app.blog.benchmark;
+
+import com.app.blog.BlogApplication;
+import com.app.blog.reactive.ReactiveReadServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of {@code GET /blogs/{id}}: starts the application on H2 once with platform
+ * request threads, once with virtual threads and once more to drive the reactive read API over R2DBC,
+ * drives each with {@code concurrency} clients for {@code seconds} seconds and prints throughput,
+ * latency percentiles and the peak number of platform threads. The blog post cache is turned off so
+ * every request goes to the database. Run with
+ * {@code ./mvnw -Pbenchmark test-compile exec:exec@load-test -Dload.args="-Dconcurrency=1000"}.
+ */
+public final class BlogPostLoadTest {
+
+    private static final int POSTS = 1000;
+
+    private BlogPostLoadTest() {
+
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("concurrency", 500);
+        long seconds = Long.getLong("seconds", 30);
+        String platform = run("platform", concurrency, seconds);
+        String virtual = run("virtual", concurrency, seconds);
+        String reactive = run("reactive", concurrency, seconds);
+        System.out.println();
+        System.out.printf("GET /blogs/{id}, %d clients, %d s%n", concurrency, seconds);
+        System.out.printf("%-10s %10s %10s %10s %10s %8s %8s%n", "threads", "req/s", "p50 ms", "p99 ms", "max ms", "errors", "peak");
+        System.out.println(platform);
+        System.out.println(virtual);
+        System.out.println(reactive);
+    }
+
+    private static String run(String mode, int concurrency, long seconds) throws Exception {
+        boolean reactive = mode.equals("reactive");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApplication.class)
+                .run("--server.port=0",
+                        "--spring.profiles.active=" + (mode.equals("virtual") ? "virtual-threads" : "default"),
+                        // the same fixed pool in every mode
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.datasource.hikari.minimum-idle=20",
+                        "--spring.datasource.hikari.connection-timeout=2000",
+                        "--blog.reactive.enabled=" + reactive,
+                        "--blog.reactive.port=0",
+                        "--blog.reactive.url=r2dbc:h2:mem:///load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.flyway.locations=classpath:db/migration/{vendor}",
+                        "--blog.cache.blog-posts.maximum-size=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.app.blog=WARN");
+        try {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<Object[]> rows = new ArrayList<>();
+            for (long id = 1; id <= POSTS; id++) {
+                rows.add(new Object[]{id, "Title " + id, "Some text " + id});
+            }
+            jdbcTemplate.batchUpdate("insert into blog_post (id, title, text, version) values (?, ?, ?, 0)", rows);
+            int port = reactive ? context.getBean(ReactiveReadServer.class).getPort()
+                    : context.getEnvironment().getProperty("local.server.port", Integer.class);
+            String base = "http://localhost:" + port + "/blogs/";
+
+            // one warm-up pass, then the measured one
+            load(base, concurrency, Math.max(1, seconds / 5));
+            // virtual threads are not counted, so apart from a few carriers this is the server's thread count
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            long start = System.nanoTime();
+            Load load = load(base, concurrency, seconds);
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            long[] latencies = load.latencies();
+            Arrays.sort(latencies);
+            return String.format("%-10s %10.0f %10.2f %10.2f %10.2f %8d %8d", mode, latencies.length / elapsed,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6, load.errors(),
+                    threads.getPeakThreadCount());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Load load(String base, int concurrency, long seconds) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build()) {
+            for (int c = 0; c < concurrency; c++) {
+                clients.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + ThreadLocalRandom.current().nextInt(1, POSTS + 1))).build();
+                        long sent = System.nanoTime();
+                        try {
+                            if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - sent;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+            long[] all = new long[0];
+            for (Future<long[]> client : clients) {
+                long[] latencies = client.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            return new Load(all, errors.get());
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private record Load(long[] latencies, long errors) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.app.blog.benchmark;
+
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.model.BlogPost;
+import com.app.blog.model.Tag;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.mapper.BlogPostMapper;
+import com.app.blog.repository.BlogPostContent;
+import com.app.blog.repository.BlogPostTagLink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning a loaded blog post into its DTO, without any database access. Run with {@code -prof gc}
+ * to get the bytes allocated per operation ({@code gc.alloc.rate.norm}); the page benchmarks map
+ * {@link #PAGE_SIZE} posts per operation.
+ * <p>
+ * {@code streamAndBuilder} is the mapping as it was before, a stream per post and a Lombok builder, kept
+ * as the baseline. {@code convertPageFromRows} maps posts and tags read as rows, with fresh name strings per row as a query
+ * hands them out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlogPostMapperBenchmark {
+
+    static final int PAGE_SIZE = 20;
+
+    @Param({"10", "50"})
+    private int tagsPerPost;
+
+    private final TagNameCache tagNameCache = new TagNameCache(10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    private final BlogPostMapper blogPostMapper = new BlogPostMapper(tagNameCache);
+    private BlogPost blogPost;
+    private List<BlogPostContent> page;
+    private List<BlogPostTagLink> tagLinks;
+
+    @Setup
+    public void setUp() {
+        Set<Tag> tags = new HashSet<>();
+        Map<String, Long> tagIds = new HashMap<>();
+        for (long i = 0; i < tagsPerPost; i++) {
+            tags.add(Tag.builder().id(i).name("tag" + i).build());
+            tagIds.put("tag" + i, i);
+        }
+        // as after the tags were resolved once on a write
+        tagNameCache.putAll(tagIds);
+        blogPost = BlogPost.builder().id(1L).title("Benchmark title").text("Benchmark text").tags(tags).build();
+        page = new ArrayList<>();
+        tagLinks = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            page.add(new BlogPostContent(id, "Benchmark title " + id, "Benchmark text " + id));
+            for (long i = 0; i < tagsPerPost; i++) {
+                tagLinks.add(new BlogPostTagLink(id, i, new String("tag" + i)));
+            }
+        }
+    }
+
+    @Benchmark
+    public BlogPostDTO convertToDto() {
+        return blogPostMapper.convertToDto(blogPost);
+    }
+
+    @Benchmark
+    public BlogPostDTO streamAndBuilder() {
+        BlogPostDTO blogPostDTO = BlogPostDTO.builder()
+                .title(blogPost.getTitle())
+                .text(blogPost.getText())
+                .build();
+        blogPostDTO.setTags(blogPost.getTags().stream()
+                .map(Tag::getName)
+                .toList());
+        return blogPostDTO;
+    }
+
+    @Benchmark
+    public List<BlogPostDTO> convertPageFromRows() {
+        return blogPostMapper.convertToDtos(page, tagLinks);
+    }
+}
@@ -0,0 +1,142 @@
+package com.app.blog.benchmark;
+
+import com.app.blog.BlogApplication;
+import com.app.blog.cache.BlogPostCache;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.TagDTO;
+import com.app.blog.service.BlogPostService;
+import com.app.blog.service.TagService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full service paths against an embedded H2 database seeded with {@code posts} blog posts carrying
+ * {@code tagsPerPost} tags each, drawn from a pool of {@value #TAG_POOL} tags. Larger seeds are
+ * selected on the command line, e.g. {@code -Djmh.args="-p posts=1000000 -p tagsPerPost=50"};
+ * the biggest combination needs a larger heap ({@code -jvmArgsAppend -Xmx16g}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BlogServiceBenchmark {
+
+    static final int TAG_POOL = 1000;
+    private static final int SEED_BATCH_SIZE = 10_000;
+
+    @Param({"1000", "100000"})
+    private int posts;
+
+    @Param({"10", "50"})
+    private int tagsPerPost;
+
+    private ConfigurableApplicationContext context;
+    private BlogPostService blogPostService;
+    private TagService tagService;
+    private BlogPostCache blogPostCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BlogApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.flyway.locations=classpath:db/migration/{vendor}",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.app.blog=WARN");
+        blogPostService = context.getBean(BlogPostService.class);
+        tagService = context.getBean(TagService.class);
+        blogPostCache = context.getBean(BlogPostCache.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < TAG_POOL; i++) {
+            rows.add(new Object[]{"tag" + i, now});
+        }
+        jdbcTemplate.batchUpdate("insert into tag (name, time_created, version) values (?, ?, 0)", rows);
+        List<Long> tagIds = jdbcTemplate.queryForList("select id from tag order by id", Long.class);
+
+        rows.clear();
+        for (long id = 1; id <= posts; id++) {
+            rows.add(new Object[]{id, "Title " + id, "Some text " + id});
+            if (rows.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into blog_post (id, title, text, version) values (?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into blog_post (id, title, text, version) values (?, ?, ?, 0)", rows);
+        // explicit ids do not move the identity column on H2
+        jdbcTemplate.execute("alter table blog_post alter column id restart with " + (posts + 1));
+
+        rows.clear();
+        for (long id = 1; id <= posts; id++) {
+            for (int k = 0; k < tagsPerPost; k++) {
+                rows.add(new Object[]{id, tagIds.get((int) ((id * 7 + k) % TAG_POOL))});
+                if (rows.size() == SEED_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate("insert into blog_post_tags (blog_posts_id, tags_id) values (?, ?)", rows);
+                    rows.clear();
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into blog_post_tags (blog_posts_id, tags_id) values (?, ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomPostId() {
+        return ThreadLocalRandom.current().nextLong(1, posts + 1);
+    }
+
+    @Benchmark
+    public List<TagDTO> tagFindAll() {
+        return tagService.findAll();
+    }
+
+    @Benchmark
+    public BlogPostDTO findByIdCached() {
+        return blogPostService.findById(randomPostId() % 100 + 1);
+    }
+
+    @Benchmark
+    public BlogPostDTO findByIdUncached() {
+        long id = randomPostId();
+        blogPostCache.invalidate(id);
+        return blogPostService.findById(id);
+    }
+
+    @Benchmark
+    public BlogPostDTO create() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> tags = new ArrayList<>(tagsPerPost);
+        int first = random.nextInt(TAG_POOL);
+        for (int k = 0; k < tagsPerPost; k++) {
+            tags.add("tag" + (first + k) % TAG_POOL);
+        }
+        return blogPostService.create(BlogPostDTO.builder()
+                .title("Benchmark title")
+                .text("Benchmark text")
+                .tags(tags)
+                .build());
+    }
+}
@@ -0,0 +1,112 @@
+package com.app.blog.benchmark;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
+import com.app.blog.serialization.BlogPostDTOSerializer;
+import com.app.blog.serialization.TagDTOSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU and bytes on the wire for a page of {@code posts} blog posts, with the default
+ * {@code ObjectMapper} against the tuned one (Blackbird plus the hand-written DTO serializers), written as is,
+ * gzip'ed (level 6) and Brotli'ed (quality 4) like {@code ResponseCompressionFilter} does. The body size of
+ * each combination is printed at the end of its trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListSerializationBenchmark {
+
+    @Param({"10000"})
+    private int posts;
+
+    @Param({"default", "tuned"})
+    private String mapper;
+
+    @Param({"identity", "gzip", "br"})
+    private String coding;
+
+    private ObjectWriter writer;
+    private BlogPostPageDTO page;
+    private final CountingOutputStream wire = new CountingOutputStream();
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (mapper.equals("tuned")) {
+            objectMapper.registerModule(new BlackbirdModule())
+                    .registerModule(new SimpleModule()
+                            .addSerializer(new BlogPostDTOSerializer())
+                            .addSerializer(new TagDTOSerializer()));
+        }
+        writer = objectMapper.writerFor(BlogPostPageDTO.class);
+        if (coding.equals("br")) {
+            Brotli4jLoader.ensureAvailability();
+        }
+        List<BlogPostDTO> content = new ArrayList<>(posts);
+        for (int i = 0; i < posts; i++) {
+            List<String> tags = new ArrayList<>(10);
+            for (int t = 0; t < 10; t++) {
+                tags.add("tag" + ((i * 7 + t * 13) % 500));
+            }
+            content.add(new BlogPostDTO("Benchmark title number " + i,
+                    "Some benchmark text for post " + i + ", long enough to look like a short summary.", tags));
+        }
+        page = new BlogPostPageDTO(content, "aWQ6MTAwMDA");
+    }
+
+    @TearDown
+    public void printSize() throws IOException {
+        wire.count = 0;
+        writePage();
+        System.out.printf("%n%s/%s: %,d bytes on the wire%n", mapper, coding, wire.count);
+    }
+
+    @Benchmark
+    public long writePage() throws IOException {
+        OutputStream body = switch (coding) {
+            case "gzip" -> new GZIPOutputStream(wire, 8192) {
+                {
+                    this.def.setLevel(6);
+                }
+            };
+            case "br" -> new BrotliOutputStream(wire, new Encoder.Parameters().setQuality(4));
+            default -> wire;
+        };
+        writer.writeValue(body, page);
+        body.close();
+        return wire.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.blog.benchmark;
+
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.search.BlogPostSearchIndex;
+import com.app.blog.search.SearchResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory search index over {@code posts} synthetic posts whose words are drawn
+ * from a skewed vocabulary, so common words have long posting lists and rare words short ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+    private static final int WORDS_PER_POST = 20;
+
+    @Param({"100000", "1000000"})
+    private int posts;
+
+    private final BlogPostSearchIndex searchIndex = new BlogPostSearchIndex();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= posts; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_POST; w++) {
+                text.append(word(random)).append(' ');
+            }
+            List<String> tags = new ArrayList<>(List.of("tag" + random.nextInt(50)));
+            searchIndex.index(id, BlogPostDTO.builder()
+                    .title(word(random) + " " + word(random))
+                    .text(text.toString())
+                    .tags(tags)
+                    .build());
+        }
+    }
+
+    // squaring a uniform value skews the draw towards the low, frequent word numbers
+    private static String word(SplittableRandom random) {
+        double uniform = random.nextDouble();
+        return "w" + (int) (uniform * uniform * VOCABULARY);
+    }
+
+    @Benchmark
+    public SearchResult commonTerm() {
+        return searchIndex.search("w1", null, 0, 20);
+    }
+
+    @Benchmark
+    public SearchResult commonAndRareTerms() {
+        return searchIndex.search("w1 w40000", null, 0, 20);
+    }
+
+    @Benchmark
+    public SearchResult commonTermWithTag() {
+        return searchIndex.search("w1", List.of("tag7"), 0, 20);
+    }
+}
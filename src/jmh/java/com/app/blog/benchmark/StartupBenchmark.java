@@ -0,0 +1,68 @@
+package com.app.blog.benchmark;
+
+import com.app.blog.BlogApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start on H2: every fork is a fresh JVM that starts the application once. {@code startup} ends when
+ * the context is refreshed, {@code firstRequest} when the first {@code GET /tags} has been answered, so the
+ * difference is the warm-up paid by the first caller (handler mapping, Jackson serializers, Hibernate
+ * query plans).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class StartupBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext startup() {
+        context = start();
+        return context;
+    }
+
+    @Benchmark
+    public int firstRequest() throws IOException, InterruptedException {
+        context = start();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            return httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/tags")).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BlogApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.flyway.locations=classpath:db/migration/{vendor}",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.app.blog=WARN");
+    }
+}
@@ -0,0 +1,59 @@
+package com.app.blog.aot;
+
+import com.app.blog.cache.CallerRunsExecutor;
+import com.app.blog.model.BlogPost;
+import com.app.blog.model.Tag;
+import com.app.blog.model.dto.*;
+import com.app.blog.model.exception.response.ExceptionResponse;
+import com.app.blog.repository.BlogPostContent;
+import com.app.blog.repository.BlogPostTagLink;
+import com.app.blog.repository.TagRepository;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.data.projection.TargetAware;
+
+/**
+ * What a native image (and Spring AOT on the JVM) cannot find out from the bean definitions alone:
+ * <ul>
+ * <li>JSON bodies whose type is not visible on the handler method: {@code ResponseEntity<Object>} in
+ * {@code GlobalExceptionHandler} and {@code ResponseEntity<?>} for tag changes.</li>
+ * <li>The Lombok entities. Hibernate reads and writes their fields and constructs them reflectively, and
+ * {@code BlogPostSpecifications} reaches the {@code id}, {@code tags} and {@code blogPosts} attributes
+ * by name. The criteria lambdas themselves are plain code.</li>
+ * <li>Classes Hibernate instantiates from JPQL {@code select new ...} and the interface projection
+ * {@code TagsVersion}, which Spring Data backs with a JDK proxy.</li>
+ * <li>The Flyway scripts, which live under {@code db/migration/{vendor}} instead of the default location,
+ * and the Caffeine JCache configuration together with the executor it names.</li>
+ * </ul>
+ */
+public class BlogRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        bindings.registerReflectionHints(hints.reflection(), ExceptionResponse.class, BlogPostDTO.class, BlogPostPageDTO.class,
+                BlogPostSearchPageDTO.class, BulkItemErrorDTO.class, BulkResultDTO.class, TagChangeStatusDTO.class,
+                TagDTO.class, TagStatsDTO.class, TagStatsPageDTO.class);
+
+        for (Class<?> entity : new Class<?>[]{BlogPost.class, Tag.class}) {
+            hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        for (Class<?> constructed : new Class<?>[]{TagDTO.class, TagStatsDTO.class, BlogPostTagLink.class,
+                BlogPostContent.class}) {
+            hints.reflection().registerType(constructed, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.proxies().registerJdkProxy(TypeReference.of(TagRepository.TagsVersion.class), TypeReference.of(TargetAware.class),
+                TypeReference.of(SpringProxy.class), TypeReference.of(DecoratingProxy.class));
+
+        hints.resources().registerPattern("db/migration/*/*.sql");
+        hints.resources().registerPattern("db/seed/*/*.sql");
+        hints.resources().registerPattern("hibernate-cache.conf");
+        hints.reflection().registerType(CallerRunsExecutor.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
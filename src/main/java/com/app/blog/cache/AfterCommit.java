@@ -0,0 +1,27 @@
+package com.app.blog.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+final class AfterCommit {
+
+    private AfterCommit() {
+
+    }
+
+    /**
+     * Runs the invalidation now and, when called inside a transaction, once more after it commits so a
+     * concurrent reader cannot re-populate the cache with the row as it was before the commit.
+     */
+    static void invalidate(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.app.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of already mapped blog posts keyed by blog post id. Every write that can change
+ * what a post maps to must invalidate the affected ids.
+ */
+@Component
+public class BlogPostCache {
+
+    private final Cache<Long, CachedBlogPost> cache;
+
+    public BlogPostCache(@Value("${blog.cache.blog-posts.maximum-size:10000}") long maximumSize,
+                         @Value("${blog.cache.blog-posts.expire-after-write:5m}") Duration expireAfterWrite,
+                         MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .executor(CallerRunsExecutor.INSTANCE)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "blogPosts");
+    }
+
+    /**
+     * Returns the cached post or loads it; a loader returning {@code null} caches nothing.
+     */
+    public CachedBlogPost get(Long id, Function<Long, CachedBlogPost> loader) {
+        return this.cache.get(id, loader);
+    }
+
+    public CachedBlogPost getIfPresent(Long id) {
+        return this.cache.getIfPresent(id);
+    }
+
+    public void invalidate(Long id) {
+        AfterCommit.invalidate(() -> this.cache.invalidate(id));
+    }
+
+    /**
+     * Drops every cached post, for changes such as a tag rename that touch an unbounded number of them.
+     */
+    public void invalidateAll() {
+        AfterCommit.invalidate(this.cache::invalidateAll);
+    }
+
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    public Cache<Long, CachedBlogPost> nativeCache() {
+        return this.cache;
+    }
+}
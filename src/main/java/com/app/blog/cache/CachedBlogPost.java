@@ -0,0 +1,10 @@
+package com.app.blog.cache;
+
+import com.app.blog.model.dto.BlogPostDTO;
+
+/**
+ * A mapped blog post together with the entity version it was mapped from, so conditional requests can
+ * be answered from the cache.
+ */
+public record CachedBlogPost(BlogPostDTO blogPost, Long version) {
+}
@@ -0,0 +1,19 @@
+package com.app.blog.cache;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Runs Caffeine's maintenance (evictions, expiry, removal listeners) on the calling thread. It is cheap,
+ * and handing it to the common pool on every write costs more than the work itself. Every Caffeine cache
+ * in the application uses {@link #INSTANCE}; the second-level cache regions name this class in
+ * {@code hibernate-cache.conf}.
+ */
+public class CallerRunsExecutor implements Executor {
+
+    public static final Executor INSTANCE = new CallerRunsExecutor();
+
+    @Override
+    public void execute(Runnable command) {
+        command.run();
+    }
+}
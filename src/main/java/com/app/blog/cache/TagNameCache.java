@@ -0,0 +1,86 @@
+package com.app.blog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded, concurrent cache of tag name to tag id, sitting in front of {@code TagRepository.findByName}.
+ * Only tags that exist are cached; a miss always falls through to the database.
+ * <p>
+ * It also keeps one canonical name string per tag id, so mapped posts share a single copy of every tag
+ * name instead of holding the copy each query decoded. Canonical names are seeded together with the
+ * name to id entries; mapping only reads them and never writes to the cache.
+ */
+@Component
+public class TagNameCache {
+
+    private final Cache<String, Long> cache;
+    private final Cache<Long, String> canonicalNames;
+
+    public TagNameCache(@Value("${blog.cache.tags.maximum-size:10000}") long maximumSize,
+                        @Value("${blog.cache.tags.expire-after-write:10m}") Duration expireAfterWrite,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .executor(CallerRunsExecutor.INSTANCE)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "tagNames");
+        this.canonicalNames = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(CallerRunsExecutor.INSTANCE)
+                .build();
+    }
+
+    public Long getIfPresent(String name) {
+        return this.cache.getIfPresent(name);
+    }
+
+    public Map<String, Long> getAllPresent(Collection<String> names) {
+        return this.cache.getAllPresent(names);
+    }
+
+    public void putAll(Map<String, Long> ids) {
+        this.cache.putAll(ids);
+        for (Map.Entry<String, Long> entry : ids.entrySet()) {
+            this.canonicalNames.put(entry.getValue(), entry.getKey());
+        }
+    }
+
+    /**
+     * Returns the string held for this tag if it still equals {@code name}, otherwise {@code name} itself.
+     * Comparing with the current name makes renames self-correcting, so this needs no invalidation.
+     */
+    public String canonicalName(Long id, String name) {
+        if (name == null) {
+            return null;
+        }
+        String canonical = this.canonicalNames.getIfPresent(id);
+        return canonical != null && canonical.equals(name) ? canonical : name;
+    }
+
+    public void invalidate(String... names) {
+        List<String> keys = List.of(names);
+        AfterCommit.invalidate(() -> this.cache.invalidateAll(keys));
+    }
+
+    public CacheStats stats() {
+        return this.cache.stats();
+    }
+
+    public Cache<String, Long> nativeCache() {
+        return this.cache;
+    }
+}
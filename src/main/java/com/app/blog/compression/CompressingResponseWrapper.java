@@ -0,0 +1,277 @@
+package com.app.blog.compression;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MimeType;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Holds back the first {@code minResponseSize} bytes of the body. Once more arrive, or a streaming response
+ * flushes, the body is encoded if its content type is one of {@code mimeTypes}; a body that ends below the
+ * threshold goes out as is. Until that decision the {@code Content-Length} set by the application is kept back,
+ * since it no longer holds for an encoded body.
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final HttpServletRequest request;
+    private final ContentCoding coding;
+    private final int level;
+    private final int minResponseSize;
+    private final List<MimeType> mimeTypes;
+    private CompressingOutputStream outputStream;
+    private PrintWriter writer;
+    private long contentLength = -1;
+
+    CompressingResponseWrapper(HttpServletRequest request, HttpServletResponse response, ContentCoding coding,
+                               int level, int minResponseSize, List<MimeType> mimeTypes) {
+        super(response);
+        this.request = request;
+        this.coding = coding;
+        this.level = level;
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = mimeTypes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (this.writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        if (this.outputStream == null) {
+            this.outputStream = new CompressingOutputStream(getResponse().getOutputStream());
+        }
+        return this.outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (this.writer == null) {
+            if (this.outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            this.outputStream = new CompressingOutputStream(getResponse().getOutputStream());
+            this.writer = new PrintWriter(new OutputStreamWriter(this.outputStream, getCharacterEncoding()));
+        }
+        return this.writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (isUndecided()) {
+            this.contentLength = len;
+        } else if (!this.outputStream.encoding) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        } else if (this.outputStream != null) {
+            this.outputStream.flush();
+        }
+        // committing now would send the headers before the coding is known
+        if (!isUndecided()) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (isUndecided()) {
+            this.outputStream.buffer.reset();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.contentLength = -1;
+        if (isUndecided()) {
+            this.outputStream.buffer.reset();
+        }
+    }
+
+    /**
+     * Writes out whatever is still held back and completes the encoded body.
+     */
+    void finish() throws IOException {
+        if (this.writer != null) {
+            this.writer.flush();
+        }
+        if (this.outputStream != null) {
+            this.outputStream.finish();
+        } else if (this.contentLength >= 0) {
+            super.setContentLengthLong(this.contentLength);
+        }
+    }
+
+    private boolean isUndecided() {
+        return this.outputStream != null && this.outputStream.target == null;
+    }
+
+    private boolean isCompressible(long size) {
+        int status = getStatus();
+        if (size < this.minResponseSize || status < 200 || status == SC_NO_CONTENT || status == SC_NOT_MODIFIED
+                || containsHeader(HttpHeaders.CONTENT_ENCODING) || getContentType() == null) {
+            return false;
+        }
+        MimeType contentType = MimeType.valueOf(getContentType());
+        return this.mimeTypes.stream().anyMatch(mimeType -> mimeType.equalsTypeAndSubtype(contentType));
+    }
+
+    private class CompressingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream response;
+        private final ByteArrayOutputStream buffer;
+        private OutputStream target;
+        private boolean encoding;
+        private boolean finished;
+
+        CompressingOutputStream(ServletOutputStream response) {
+            this.response = response;
+            this.buffer = new ByteArrayOutputStream(Math.min(minResponseSize, 8192));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (this.target == null && this.buffer.size() + 1 > minResponseSize) {
+                decide(Long.MAX_VALUE);
+            }
+            if (this.target == null) {
+                this.buffer.write(b);
+            } else {
+                this.target.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (this.target == null && this.buffer.size() + len > minResponseSize) {
+                decide(Long.MAX_VALUE);
+            }
+            if (this.target == null) {
+                this.buffer.write(b, off, len);
+            } else {
+                this.target.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (this.target == null) {
+                // a buffered response flushes once it is fully written, a streamed one wants its bytes sent now
+                if (!request.isAsyncStarted()) {
+                    return;
+                }
+                decide(Long.MAX_VALUE);
+            }
+            this.target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        void finish() throws IOException {
+            if (this.finished) {
+                return;
+            }
+            this.finished = true;
+            if (this.target == null) {
+                decide(this.buffer.size());
+            }
+            if (this.encoding) {
+                // ends the encoded stream; the servlet stream is closed by the container
+                this.target.close();
+            } else {
+                this.target.flush();
+            }
+        }
+
+        private void decide(long size) throws IOException {
+            if (isCompressible(contentLength >= 0 ? Math.max(size, contentLength) : size)) {
+                this.encoding = true;
+                setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+                String eTag = getHeader(HttpHeaders.ETAG);
+                // the encoded bytes differ from the identity ones, so the tag can no longer be a strong one
+                if (eTag != null && !eTag.startsWith("W/")) {
+                    setHeader(HttpHeaders.ETAG, "W/" + eTag);
+                }
+                this.target = coding.encode(StreamUtils.nonClosing(this.response), level);
+            } else {
+                this.target = this.response;
+                if (contentLength >= 0) {
+                    CompressingResponseWrapper.super.setContentLengthLong(contentLength);
+                }
+            }
+            this.buffer.writeTo(this.target);
+            this.buffer.reset();
+        }
+
+        @Override
+        public boolean isReady() {
+            return this.response.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.response.setWriteListener(writeListener);
+        }
+    }
+}
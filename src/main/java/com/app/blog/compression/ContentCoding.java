@@ -0,0 +1,62 @@
+package com.app.blog.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.BrotliOutputStream;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The response codings the server can produce, in order of preference.
+ */
+public enum ContentCoding {
+
+    BROTLI("br") {
+        @Override
+        OutputStream encode(OutputStream target, int level) throws IOException {
+            return new BrotliOutputStream(target, new Encoder.Parameters().setQuality(level));
+        }
+
+        @Override
+        boolean isAvailable() {
+            return Brotli4jLoader.isAvailable();
+        }
+    },
+    GZIP("gzip") {
+        @Override
+        OutputStream encode(OutputStream target, int level) throws IOException {
+            // sync flush, so a flush of a streamed response really reaches the client
+            return new GZIPOutputStream(target, BUFFER_SIZE, true) {
+                {
+                    this.def.setLevel(level);
+                }
+            };
+        }
+
+        @Override
+        boolean isAvailable() {
+            return true;
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    public String token() {
+        return this.token;
+    }
+
+    abstract OutputStream encode(OutputStream target, int level) throws IOException;
+
+    /**
+     * Whether the coding can be used in this process; Brotli needs the native encoder of the platform.
+     */
+    abstract boolean isAvailable();
+}
@@ -0,0 +1,135 @@
+package com.app.blog.compression;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Encodes JSON responses with Brotli or gzip, whichever the client accepts (Brotli first). Bodies smaller
+ * than {@code blog.compression.min-response-size} are sent as is: below a packet or two the encoding costs
+ * more CPU than it saves on the wire. Tomcat's own {@code server.compression} only does gzip and compresses
+ * every body whose length is unknown up front, which is every JSON body Spring MVC writes.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.compression.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final String WRAPPER_ATTRIBUTE = ResponseCompressionFilter.class.getName() + ".wrapper";
+
+    private final int minResponseSize;
+    private final List<MimeType> mimeTypes;
+    private final int brotliQuality;
+    private final int gzipLevel;
+    private final boolean brotliAvailable;
+    private final Logger logger = LoggerFactory.getLogger(ResponseCompressionFilter.class);
+
+    public ResponseCompressionFilter(@Value("${blog.compression.min-response-size:2KB}") DataSize minResponseSize,
+                                     @Value("${blog.compression.mime-types:application/json}") List<MimeType> mimeTypes,
+                                     @Value("${blog.compression.brotli-quality:4}") int brotliQuality,
+                                     @Value("${blog.compression.gzip-level:6}") int gzipLevel) {
+        this.minResponseSize = (int) minResponseSize.toBytes();
+        this.mimeTypes = List.copyOf(mimeTypes);
+        this.brotliQuality = brotliQuality;
+        this.gzipLevel = gzipLevel;
+        this.brotliAvailable = ContentCoding.BROTLI.isAvailable();
+        if (!this.brotliAvailable) {
+            logger.warn("ResponseCompressionFilter - no native Brotli encoder for this platform, only gzip is offered");
+        }
+    }
+
+    // a streamed body is completed on the async dispatch that follows the last write
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            filterChain.doFilter(request, response);
+            CompressingResponseWrapper wrapper = (CompressingResponseWrapper) request.getAttribute(WRAPPER_ATTRIBUTE);
+            if (wrapper != null && !request.isAsyncStarted()) {
+                wrapper.finish();
+            }
+            return;
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        ContentCoding coding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (coding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        int level = coding == ContentCoding.BROTLI ? this.brotliQuality : this.gzipLevel;
+        CompressingResponseWrapper wrapper = new CompressingResponseWrapper(request, response, coding, level,
+                this.minResponseSize, this.mimeTypes);
+        filterChain.doFilter(request, wrapper);
+        if (request.isAsyncStarted()) {
+            request.setAttribute(WRAPPER_ATTRIBUTE, wrapper);
+        } else {
+            wrapper.finish();
+        }
+    }
+
+    /**
+     * Picks the coding with the highest q-value in {@code Accept-Encoding}, Brotli winning ties; {@code null}
+     * when the client accepts neither.
+     */
+    ContentCoding negotiate(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return null;
+        }
+        ContentCoding best = null;
+        double bestQuality = 0;
+        double wildcard = -1;
+        double[] qualities = {-1, -1};
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String token = parts[0].trim();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (token.equals("*")) {
+                wildcard = quality;
+            }
+            for (ContentCoding coding : ContentCoding.values()) {
+                if (token.equalsIgnoreCase(coding.token())) {
+                    qualities[coding.ordinal()] = quality;
+                }
+            }
+        }
+        for (ContentCoding coding : ContentCoding.values()) {
+            double quality = qualities[coding.ordinal()] >= 0 ? qualities[coding.ordinal()] : wildcard;
+            if (quality > bestQuality && (coding != ContentCoding.BROTLI || this.brotliAvailable)) {
+                best = coding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.blog.concurrency;
+
+import com.app.blog.model.exception.response.ExceptionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * With virtual threads Tomcat no longer caps how many requests run at once, so every burst would
+ * queue up on the Hikari pool until its connection timeout fails them. This filter admits at most
+ * {@code blog.virtual-threads.max-concurrent-requests} requests, by default as many as the pool has
+ * connections, lets the rest wait as long as a connection would, and then answers 503 instead of
+ * piling more waiters onto the pool.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final ObjectMapper objectMapper;
+    private final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    public ConcurrencyLimitFilter(@Value("${blog.virtual-threads.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrentRequests,
+                                  @Value("${spring.datasource.hikari.connection-timeout:30000}") long maxWaitMillis,
+                                  ObjectMapper objectMapper) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxWait = Duration.ofMillis(maxWaitMillis);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = this.permits.tryAcquire(this.maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            logger.error("ConcurrencyLimitFilter - doFilterInternal error - Too many concurrent requests");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            this.objectMapper.writeValue(response.getOutputStream(),
+                    new ExceptionResponse("Server is busy, try again later", HttpStatus.SERVICE_UNAVAILABLE));
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            this.permits.release();
+        }
+    }
+}
@@ -1,37 +1,77 @@
 package com.app.blog.controller;
 
 import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
+import com.app.blog.model.dto.BlogPostSearchPageDTO;
+import com.app.blog.model.dto.BulkResultDTO;
+import com.app.blog.model.dto.TagChangeStatusDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @Tag(name = "Blog Posts", description = "All The Blog Post Endpoints")
 public interface BlogPostRestApi {
 
     @Operation(
-            summary = "Get all blog posts",
-            description = "Gets all blog post DTOs and their data from the database")
+            summary = "Get a page of blog posts",
+            description = "Gets one page of blog post DTOs, optionally filtered by tag name, a boolean tag expression " +
+                    "such as java+spring-python ('+' AND, '|' OR, '-' NOT, parentheses, quotes for names with operators) " +
+                    "and minimum tag count. Pass the returned nextCursor back as cursor to read the following page")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Bad Request")
+    })
+    BlogPostPageDTO getBlogPosts(@RequestParam(required = false) String tag,
+                                 @RequestParam(required = false) String tags,
+                                 @RequestParam(required = false) Integer minTags,
+                                 @RequestParam(required = false) String cursor,
+                                 @RequestParam(required = false) Integer limit);
+
+    @Operation(
+            summary = "Search blog posts",
+            description = "Gets one page of blog posts whose title or text contain every word of the query, " +
+                    "best match first, optionally limited to posts carrying all of the given tags")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Bad Request")
+    })
+    BlogPostSearchPageDTO searchBlogPosts(@RequestParam @NotBlank String q,
+                                          @RequestParam(required = false) List<String> tags,
+                                          @RequestParam(required = false) Integer page,
+                                          @RequestParam(required = false) Integer size);
+
+    @Operation(
+            summary = "Export all blog posts",
+            description = "Streams every blog post DTO as newline-delimited JSON, one post per line")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success")
     })
-    List<BlogPostDTO> getBlogPosts();
+    ResponseEntity<StreamingResponseBody> exportBlogPosts();
 
     @Operation(
             summary = "Get blog post by id",
-            description = "Gets one blog post DTO and its data from the database")
+            description = "Gets one blog post DTO and its data from the database. " +
+                    "The response carries an ETag; send it back as If-None-Match to get a 304 while the post is unchanged")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "304", description = "Not Modified"),
             @ApiResponse(responseCode = "400", description = "Bad Request")
     })
-    ResponseEntity<BlogPostDTO> getBlogPostById(@PathVariable Long id);
+    ResponseEntity<BlogPostDTO> getBlogPostById(@PathVariable Long id, WebRequest request);
 
     @Operation(
             summary = "Add a blog post",
@@ -41,12 +81,22 @@ public interface BlogPostRestApi {
     })
     ResponseEntity<BlogPostDTO> addBlogPost(@Valid @RequestBody BlogPostDTO blogPostDTO);
 
+    @Operation(
+            summary = "Add blog posts in bulk",
+            description = "Adds a JSON array or newline-delimited JSON stream of blog posts in batches. " +
+                    "Invalid or failing items are reported by their position and do not stop the others")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success")
+    })
+    ResponseEntity<BulkResultDTO> addBlogPosts(InputStream body) throws IOException;
+
     @Operation(
             summary = "Edit a blog post",
             description = "Edits a blog posts data and saves it to the database")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success"),
-            @ApiResponse(responseCode = "400", description = "Bad Request")
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "409", description = "Conflict")
     })
     ResponseEntity<BlogPostDTO> editBlogPost(@PathVariable Long id, @Valid @RequestBody BlogPostDTO blogPostDTO);
 
@@ -55,27 +105,43 @@ public interface BlogPostRestApi {
             description = "Partially edits a blog posts data and saves it to the database")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success"),
-            @ApiResponse(responseCode = "400", description = "Bad Request")
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "409", description = "Conflict")
     })
     ResponseEntity<BlogPostDTO> patchBlogPost(@PathVariable Long id, BlogPostDTO blogPostDTO);
 
     @Operation(
             summary = "Add tags to a blog post",
-            description = "Adds an array of tags to a blog post and saves it to the database")
+            description = "Adds an array of tags to a blog post and saves it to the database. In write-behind mode " +
+                    "the change is queued and answered with 202 and a tag change status")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success"),
-            @ApiResponse(responseCode = "400", description = "Bad Request")
+            @ApiResponse(responseCode = "202", description = "Accepted, see the Location header for its status"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "503", description = "Too many pending tag changes")
     })
-    ResponseEntity<BlogPostDTO> addTagToBlogPost(@PathVariable Long id, List<String> tags);
+    ResponseEntity<?> addTagToBlogPost(@PathVariable Long id, List<String> tags);
 
     @Operation(
             summary = "Remove tags from a blog post",
-            description = "Removes an array of tags from a blog post and saves it to the database")
+            description = "Removes an array of tags from a blog post and saves it to the database. In write-behind mode " +
+                    "the change is queued and answered with 202 and a tag change status")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success"),
-            @ApiResponse(responseCode = "400", description = "Bad Request")
+            @ApiResponse(responseCode = "202", description = "Accepted, see the Location header for its status"),
+            @ApiResponse(responseCode = "400", description = "Bad Request"),
+            @ApiResponse(responseCode = "503", description = "Too many pending tag changes")
+    })
+    ResponseEntity<?> removeTagFromBlogPost(@PathVariable Long id, List<String> tags);
+
+    @Operation(
+            summary = "Get the status of a queued tag change",
+            description = "Reports whether a tag change accepted in write-behind mode is still pending, was applied or failed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "404", description = "Not Found")
     })
-    ResponseEntity<BlogPostDTO> removeTagFromBlogPost(@PathVariable Long id, List<String> tags);
+    TagChangeStatusDTO getTagChange(@PathVariable String changeId);
 
     @Operation(
             summary = "Delete a blog post",
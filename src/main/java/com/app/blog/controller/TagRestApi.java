@@ -1,6 +1,7 @@
 package com.app.blog.controller;
 
 import com.app.blog.model.dto.TagDTO;
+import com.app.blog.model.dto.TagStatsPageDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -8,6 +9,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,20 +18,34 @@ public interface TagRestApi {
 
     @Operation(
             summary = "Get all tags",
-            description = "Gets all tags DTOs and their data from the database")
+            description = "Gets all tags DTOs and their data from the database. " +
+                    "The response carries an ETag; send it back as If-None-Match to get a 304 while no tag changed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "304", description = "Not Modified")
+    })
+    ResponseEntity<List<TagDTO>> getAllTags(WebRequest request);
+
+    @Operation(
+            summary = "Get tag usage statistics",
+            description = "Gets one page of tags with the number of posts carrying them and the last time such a post " +
+                    "was written, most used tags first. The first page of size N is the top N tags")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success")
     })
-    List<TagDTO> getAllTags();
+    TagStatsPageDTO getTagStats(@RequestParam(required = false) Integer page,
+                                @RequestParam(required = false) Integer size);
 
     @Operation(
             summary = "Get tag by id",
-            description = "Gets one tag DTO and its data from the database")
+            description = "Gets one tag DTO and its data from the database. " +
+                    "The response carries an ETag; send it back as If-None-Match to get a 304 while the tag is unchanged")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "304", description = "Not Modified"),
             @ApiResponse(responseCode = "400", description = "Bad Request")
     })
-    ResponseEntity<TagDTO> getTagById(@PathVariable Long id);
+    ResponseEntity<TagDTO> getTagById(@PathVariable Long id, WebRequest request);
 
     @Operation(
             summary = "Add a tag",
@@ -1,36 +1,105 @@
 package com.app.blog.controller.impl;
 import com.app.blog.controller.BlogPostRestApi;
 import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
+import com.app.blog.model.dto.BlogPostSearchPageDTO;
+import com.app.blog.model.dto.BulkResultDTO;
+import com.app.blog.model.dto.TagChangeStatusDTO;
+import com.app.blog.model.exception.TagChangeNotFoundException;
+import com.app.blog.repository.BlogPostRepository;
 import com.app.blog.service.BlogPostService;
+import com.app.blog.writebehind.TagChangeQueue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 
 
+@Timed(value = "blog.controller", histogram = true)
 @Validated
 @RestController
 @RequestMapping("/blogs")
 @RequiredArgsConstructor
 public class BlogPostController implements BlogPostRestApi {
     private final BlogPostService blogPostService;
+    private final ObjectMapper objectMapper;
+    // only present in write-behind mode
+    private final ObjectProvider<TagChangeQueue> tagChangeQueue;
     private final Logger logger = LoggerFactory.getLogger(BlogPostController.class);
 
     @GetMapping()
-    public List<BlogPostDTO> getBlogPosts() {
+    public BlogPostPageDTO getBlogPosts(@RequestParam(required = false) String tag,
+                                        @RequestParam(required = false) String tags,
+                                        @RequestParam(required = false) Integer minTags,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer limit) {
         logger.trace("BlogPostController - getBlogPosts");
-        return this.blogPostService.findAll();
+        return this.blogPostService.findAll(tag, tags, minTags, cursor, limit);
+    }
+
+    @GetMapping("/search")
+    public BlogPostSearchPageDTO searchBlogPosts(@RequestParam @NotBlank String q,
+                                                 @RequestParam(required = false) List<String> tags,
+                                                 @RequestParam(required = false) Integer page,
+                                                 @RequestParam(required = false) Integer size) {
+        logger.trace("BlogPostController - searchBlogPosts");
+        return this.blogPostService.search(q, tags, page, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBlogPosts() {
+        logger.trace("BlogPostController - exportBlogPosts");
+        ObjectWriter writer = this.objectMapper.writerFor(BlogPostDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                this.blogPostService.exportAll(blogPostDTO -> {
+                    try {
+                        writer.writeValue(generator, blogPostDTO);
+                        generator.writeRaw('\n');
+                        // push the first line out immediately, then one flush per fetched batch
+                        if (written[0]++ % BlogPostRepository.STREAM_FETCH_SIZE == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BlogPostDTO> getBlogPostById(@PathVariable Long id) {
+    public ResponseEntity<BlogPostDTO> getBlogPostById(@PathVariable Long id, WebRequest request) {
         logger.trace("BlogPostController - getBlogPostById");
-        return ResponseEntity.ok().body(this.blogPostService.findById(id));
+        String eTag = ETags.of(id, this.blogPostService.findVersionById(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(this.blogPostService.findById(id));
     }
 
     @PostMapping()
@@ -39,6 +108,15 @@ public class BlogPostController implements BlogPostRestApi {
         return ResponseEntity.ok().body(this.blogPostService.create(blogPostDTO));
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkResultDTO> addBlogPosts(InputStream body) throws IOException {
+        logger.trace("BlogPostController - addBlogPosts");
+        // reads a JSON array and newline-delimited JSON alike, one post at a time
+        try (MappingIterator<BlogPostDTO> blogPostDTOs = this.objectMapper.readerFor(BlogPostDTO.class).readValues(body)) {
+            return ResponseEntity.ok().body(this.blogPostService.createAll(blogPostDTOs));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<BlogPostDTO> editBlogPost(@PathVariable Long id, @Valid @RequestBody BlogPostDTO blogPostDTO) {
         logger.trace("BlogPostController - editBlogPost");
@@ -52,17 +130,40 @@ public class BlogPostController implements BlogPostRestApi {
     }
 
     @PostMapping("/{id}/tags")
-    public ResponseEntity<BlogPostDTO> addTagToBlogPost(@PathVariable Long id, @RequestParam List<String> tags) {
+    public ResponseEntity<?> addTagToBlogPost(@PathVariable Long id, @RequestParam List<String> tags) {
         logger.trace("BlogPostController - addTagToBlogPost");
+        TagChangeQueue tagChangeQueue = this.tagChangeQueue.getIfAvailable();
+        if (tagChangeQueue != null) {
+            return accepted(tagChangeQueue.add(id, tags));
+        }
         return ResponseEntity.ok().body(this.blogPostService.addTagToBlogPost(id, tags));
     }
 
     @DeleteMapping("/{id}/tags")
-    public ResponseEntity<BlogPostDTO> removeTagFromBlogPost(@PathVariable Long id, @RequestParam List<String> tags) {
+    public ResponseEntity<?> removeTagFromBlogPost(@PathVariable Long id, @RequestParam List<String> tags) {
         logger.trace("BlogPostController - removeTagFromBlogPost");
+        TagChangeQueue tagChangeQueue = this.tagChangeQueue.getIfAvailable();
+        if (tagChangeQueue != null) {
+            return accepted(tagChangeQueue.remove(id, tags));
+        }
         return ResponseEntity.ok().body(this.blogPostService.removeTagFromBlogPost(id, tags));
     }
 
+    @GetMapping("/tag-changes/{changeId}")
+    public TagChangeStatusDTO getTagChange(@PathVariable String changeId) {
+        logger.trace("BlogPostController - getTagChange");
+        TagChangeQueue tagChangeQueue = this.tagChangeQueue.getIfAvailable();
+        if (tagChangeQueue == null) {
+            logger.error("BlogPostController - getTagChange error - Write-behind is disabled");
+            throw new TagChangeNotFoundException();
+        }
+        return tagChangeQueue.status(changeId);
+    }
+
+    private static ResponseEntity<TagChangeStatusDTO> accepted(TagChangeStatusDTO status) {
+        return ResponseEntity.accepted().location(URI.create("/blogs/tag-changes/" + status.getId())).body(status);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteBlogPost(@PathVariable Long id) {
         logger.trace("BlogPostController - deleteBlogPost");
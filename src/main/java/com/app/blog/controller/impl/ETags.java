@@ -0,0 +1,16 @@
+package com.app.blog.controller.impl;
+
+final class ETags {
+
+    private ETags() {
+
+    }
+
+    static String of(Long id, Long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String of(String version) {
+        return "\"" + version + "\"";
+    }
+}
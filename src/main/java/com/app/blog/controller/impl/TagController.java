@@ -2,7 +2,9 @@ package com.app.blog.controller.impl;
 
 import com.app.blog.controller.TagRestApi;
 import com.app.blog.model.dto.TagDTO;
+import com.app.blog.model.dto.TagStatsPageDTO;
 import com.app.blog.service.TagService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -10,9 +12,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
+@Timed(value = "blog.controller", histogram = true)
 @Validated
 @RestController
 @RequestMapping("/tags")
@@ -23,15 +27,30 @@ public class TagController implements TagRestApi {
     private final Logger logger = LoggerFactory.getLogger(TagController.class);
 
     @GetMapping()
-    public List<TagDTO> getAllTags() {
+    public ResponseEntity<List<TagDTO>> getAllTags(WebRequest request) {
         logger.trace("TagController - getAllTags");
-        return this.tagService.findAll();
+        String eTag = ETags.of(this.tagService.findAllVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(this.tagService.findAll());
+    }
+
+    @GetMapping("/stats")
+    public TagStatsPageDTO getTagStats(@RequestParam(required = false) Integer page,
+                                       @RequestParam(required = false) Integer size) {
+        logger.trace("TagController - getTagStats");
+        return this.tagService.findStats(page, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TagDTO> getTagById(@PathVariable Long id) {
+    public ResponseEntity<TagDTO> getTagById(@PathVariable Long id, WebRequest request) {
         logger.trace("TagController - getTagById");
-        return ResponseEntity.ok().body(this.tagService.findById(id));
+        String eTag = ETags.of(id, this.tagService.findVersionById(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(this.tagService.findById(id));
     }
 
     @PostMapping()
@@ -0,0 +1,42 @@
+package com.app.blog.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread as needing fresh data, which sends its read-only transactions to the
+ * primary instead of a replica.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isStuckToPrimary() {
+        return PRIMARY.get() != null;
+    }
+
+    public static void stickToPrimary() {
+        PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        PRIMARY.remove();
+    }
+
+    /**
+     * Runs {@code supplier} against the primary, for reads whose result outlives the request (caches).
+     */
+    public static <T> T onPrimary(Supplier<T> supplier) {
+        if (isStuckToPrimary()) {
+            return supplier.get();
+        }
+        stickToPrimary();
+        try {
+            return supplier.get();
+        } finally {
+            clear();
+        }
+    }
+}
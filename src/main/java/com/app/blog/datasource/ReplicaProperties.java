@@ -0,0 +1,45 @@
+package com.app.blog.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas under {@code blog.datasource}. Replica pools share the {@code spring.datasource.hikari}
+ * settings of the primary.
+ */
+@Data
+@ConfigurationProperties("blog.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * A replica further behind than this is taken out of rotation until it catches up.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    private Duration checkInterval = Duration.ofSeconds(5);
+
+    /**
+     * How long a client's reads stay on the primary after it wrote something. Should exceed {@link #maxLag}.
+     */
+    private Duration stickiness = Duration.ofSeconds(10);
+
+    /**
+     * Query run on each replica that returns its lag in seconds, either as the first column or as
+     * {@code Seconds_Behind_Source} (MySQL: {@code SHOW REPLICA STATUS}). An empty result or a null lag
+     * means replication is stopped. Without a query replicas are only checked for being reachable.
+     */
+    private String lagQuery;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,178 @@
+package com.app.blog.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to a healthy replica and everything else to the primary.
+ * <p>
+ * The physical connection is only fetched on the first statement, after Spring has marked the
+ * connection read-only for {@code @Transactional(readOnly = true)}. Replicas are picked round robin;
+ * one that fails to connect, lags more than {@code maxLag} or fails the periodic check is skipped, and
+ * when none is left (or the thread is {@link ReadYourWrites stuck to the primary}) reads go to the primary.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements MeterBinder, AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthCheck;
+    private final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, Duration maxLag, String lagQuery) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.healthCheck = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("replica-health").daemon().factory());
+        setReadOnlyDataSource(new ReplicaDataSource());
+    }
+
+    public void startHealthCheck(Duration interval) {
+        checkReplicas();
+        this.healthCheck.scheduleWithFixedDelay(this::checkReplicas, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void checkReplicas() {
+        for (Replica replica : this.replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markUnhealthy("connection is not valid");
+                    continue;
+                }
+                Long lagSeconds = lagSeconds(connection);
+                replica.lagSeconds = lagSeconds == null ? -1 : lagSeconds;
+                if (lagSeconds == null) {
+                    replica.markUnhealthy("replication is not running");
+                } else if (lagSeconds > this.maxLag.toSeconds()) {
+                    replica.markUnhealthy("lagging " + lagSeconds + "s behind the primary");
+                } else {
+                    replica.markHealthy();
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markUnhealthy(e.getMessage());
+            }
+        }
+    }
+
+    private Long lagSeconds(Connection connection) throws SQLException {
+        if (this.lagQuery == null || this.lagQuery.isBlank()) {
+            return 0L;
+        }
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(this.lagQuery)) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            long lag = resultSet.getLong(lagColumn(resultSet));
+            return resultSet.wasNull() ? null : lag;
+        }
+    }
+
+    private static int lagColumn(ResultSet resultSet) {
+        try {
+            return resultSet.findColumn("Seconds_Behind_Source");
+        } catch (SQLException e) {
+            return 1;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : this.replicas) {
+            Gauge.builder("blog.datasource.replica.healthy", replica, r -> Boolean.TRUE.equals(r.healthy) ? 1 : 0)
+                    .tag("pool", replica.name)
+                    .register(registry);
+            Gauge.builder("blog.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("pool", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.healthCheck.shutdownNow();
+        this.replicas.forEach(replica -> replica.dataSource.close());
+        this.primary.close();
+    }
+
+    private final class ReplicaDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!ReadYourWrites.isStuckToPrimary()) {
+                int count = replicas.size();
+                int start = Math.floorMod(next.getAndIncrement(), count);
+                for (int i = 0; i < count; i++) {
+                    Replica replica = replicas.get((start + i) % count);
+                    if (!Boolean.TRUE.equals(replica.healthy)) {
+                        continue;
+                    }
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException e) {
+                        // out of rotation until the next check finds it reachable again
+                        replica.markUnhealthy(e.getMessage());
+                    }
+                }
+            }
+            return primary.getConnection();
+        }
+
+        // replica pools only hold connections of the configured user, other credentials go where writes go
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+
+    private final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        // null until the first check
+        private volatile Boolean healthy;
+        private volatile long lagSeconds = -1;
+
+        private Replica(HikariDataSource dataSource) {
+            this.name = dataSource.getPoolName();
+            this.dataSource = dataSource;
+        }
+
+        private void markHealthy() {
+            if (!Boolean.TRUE.equals(this.healthy)) {
+                logger.info("ReplicaRoutingDataSource - {} in rotation", this.name);
+            }
+            this.healthy = Boolean.TRUE;
+        }
+
+        private void markUnhealthy(String reason) {
+            if (!Boolean.FALSE.equals(this.healthy)) {
+                logger.warn("ReplicaRoutingDataSource - {} out of rotation: {}", this.name, reason);
+            }
+            this.healthy = Boolean.FALSE;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.app.blog.idempotency;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hashes method, path, query and body of a request while the body is read, so even a bulk import is
+ * fingerprinted without being held in memory.
+ */
+class FingerprintingRequest extends HttpServletRequestWrapper {
+
+    private final MessageDigest digest;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
+    private String fingerprint;
+
+    FingerprintingRequest(HttpServletRequest request) {
+        super(request);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String query = request.getQueryString();
+        this.digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?' + (query != null ? query : "") + '\n')
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (this.inputStream == null) {
+            this.inputStream = new DigestingInputStream(super.getInputStream());
+        }
+        return this.inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        if (this.reader == null) {
+            String encoding = getCharacterEncoding();
+            this.reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? encoding : StandardCharsets.ISO_8859_1.name()));
+        }
+        return this.reader;
+    }
+
+    /**
+     * Reads whatever the handler left of the body and returns the hex SHA-256 of the whole request.
+     */
+    String fingerprint() throws IOException {
+        if (this.fingerprint == null) {
+            ServletInputStream body = getInputStream();
+            byte[] buffer = new byte[8192];
+            while (body.read(buffer) != -1) {
+                // digested while read
+            }
+            this.fingerprint = HexFormat.of().formatHex(this.digest.digest());
+        }
+        return this.fingerprint;
+    }
+
+    private class DigestingInputStream extends ServletInputStream {
+
+        private final ServletInputStream delegate;
+
+        DigestingInputStream(ServletInputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = this.delegate.read();
+            if (b != -1) {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = this.delegate.read(b, off, len);
+            if (read > 0) {
+                digest.update(b, off, read);
+            }
+            return read;
+        }
+
+        // handlers close the body when done parsing, the rest still has to be digested; the container closes it
+        @Override
+        public void close() {
+
+        }
+
+        @Override
+        public boolean isFinished() {
+            return this.delegate.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return this.delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            this.delegate.setReadListener(readListener);
+        }
+    }
+}
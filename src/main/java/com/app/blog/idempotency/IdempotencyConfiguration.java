@@ -0,0 +1,40 @@
+package com.app.blog.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Turned on with {@code blog.idempotency.enabled}; {@code blog.idempotency.store} picks where keys live.
+ */
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(name = "blog.idempotency.enabled", havingValue = "true")
+public class IdempotencyConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public InMemoryIdempotencyStore inMemoryIdempotencyStore(IdempotencyProperties idempotencyProperties,
+                                                             MeterRegistry meterRegistry) {
+        return new InMemoryIdempotencyStore(idempotencyProperties.getMaximumSize(), idempotencyProperties.getTtl(),
+                meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "blog.idempotency.store", havingValue = "jdbc")
+    public JdbcIdempotencyStore jdbcIdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProperties idempotencyProperties) {
+        return new JdbcIdempotencyStore(jdbcTemplate, idempotencyProperties.getTtl(),
+                idempotencyProperties.getInProgressTimeout());
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(IdempotencyStore idempotencyStore, IdempotencyProperties idempotencyProperties,
+                                               ObjectMapper objectMapper) {
+        return new IdempotencyFilter(idempotencyStore, idempotencyProperties.getWaitTimeout(),
+                idempotencyProperties.getMaxKeyLength(), objectMapper);
+    }
+}
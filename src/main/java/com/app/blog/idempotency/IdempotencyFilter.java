@@ -0,0 +1,198 @@
+package com.app.blog.idempotency;
+
+import com.app.blog.model.exception.response.ExceptionResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes writes to {@code /blogs} and {@code /tags} safe to retry. The first request with a given
+ * {@code Idempotency-Key} runs and its response is stored; a retry with the same key and the same request
+ * gets that response back without reaching a controller. A duplicate arriving while the first one still
+ * runs waits for it instead of racing it. Server errors, 409 and 429 are not stored, so retrying them
+ * runs the request again.
+ * <p>
+ * Runs inside {@code ResponseCompressionFilter}, so stored bodies are uncompressed and replays are encoded
+ * for whichever client asks.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final IdempotencyStore idempotencyStore;
+    private final Duration waitTimeout;
+    private final int maxKeyLength;
+    private final ObjectMapper objectMapper;
+    // requests of this instance that hold their key, duplicates wait on them without polling the store
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> running = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public IdempotencyFilter(IdempotencyStore idempotencyStore, Duration waitTimeout, int maxKeyLength,
+                             ObjectMapper objectMapper) {
+        this.idempotencyStore = idempotencyStore;
+        this.waitTimeout = waitTimeout;
+        this.maxKeyLength = maxKeyLength;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                || request.getHeader(IDEMPOTENCY_KEY) == null) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !isUnder(path, "/blogs") && !isUnder(path, "/tags");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY);
+        if (key.isBlank() || key.length() > this.maxKeyLength) {
+            logger.error("IdempotencyFilter - doFilterInternal error - Invalid Idempotency Key");
+            reject(response, "Idempotency-Key must be 1 to " + this.maxKeyLength + " characters", HttpStatus.BAD_REQUEST);
+            return;
+        }
+        FingerprintingRequest fingerprintingRequest = new FingerprintingRequest(request);
+        long deadline = System.nanoTime() + this.waitTimeout.toNanos();
+        while (true) {
+            StoredResponse stored = this.idempotencyStore.find(key);
+            if (stored != null) {
+                replay(fingerprintingRequest, response, stored);
+                return;
+            }
+            CompletableFuture<StoredResponse> own = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> first = this.running.putIfAbsent(key, own);
+            if (first == null) {
+                StoredResponse result = null;
+                try {
+                    if (this.idempotencyStore.claim(key)) {
+                        result = execute(key, fingerprintingRequest, response, filterChain);
+                        return;
+                    }
+                } finally {
+                    this.running.remove(key, own);
+                    own.complete(result);
+                }
+                // held by another instance, only the store tells when it is done
+                if (!sleepUntil(deadline)) {
+                    stillRunning(response);
+                    return;
+                }
+            } else {
+                StoredResponse result;
+                try {
+                    result = first.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException | ExecutionException e) {
+                    stillRunning(response);
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    stillRunning(response);
+                    return;
+                }
+                if (result != null) {
+                    replay(fingerprintingRequest, response, result);
+                    return;
+                }
+                // the first one was not stored, the next waiter to get here runs it again
+            }
+        }
+    }
+
+    private StoredResponse execute(String key, FingerprintingRequest request, HttpServletResponse response,
+                                   FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            int status = responseWrapper.getStatus();
+            if (status < 500 && status != HttpStatus.CONFLICT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                stored = new StoredResponse(request.fingerprint(), status, responseWrapper.getContentType(),
+                        responseWrapper.getHeader(HttpHeaders.LOCATION), responseWrapper.getContentAsByteArray());
+                this.idempotencyStore.complete(key, stored);
+            }
+        } finally {
+            if (stored == null) {
+                this.idempotencyStore.release(key);
+            }
+        }
+        responseWrapper.copyBodyToResponse();
+        return stored;
+    }
+
+    private void replay(FingerprintingRequest request, HttpServletResponse response, StoredResponse stored)
+            throws IOException {
+        if (!stored.requestHash().equals(request.fingerprint())) {
+            logger.error("IdempotencyFilter - replay error - Idempotency Key Reused");
+            reject(response, "Idempotency-Key was already used for a different request", HttpStatus.UNPROCESSABLE_ENTITY);
+            return;
+        }
+        logger.trace("IdempotencyFilter - replay");
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void stillRunning(HttpServletResponse response) throws IOException {
+        logger.error("IdempotencyFilter - doFilterInternal error - Idempotency Key In Progress");
+        reject(response, "A request with this Idempotency-Key is still in progress", HttpStatus.CONFLICT);
+    }
+
+    private void reject(HttpServletResponse response, String message, HttpStatus status) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        this.objectMapper.writeValue(response.getOutputStream(), new ExceptionResponse(message, status));
+    }
+
+    private static boolean sleepUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(Math.min(remaining, POLL_INTERVAL.toNanos())));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isUnder(String path, String prefix) {
+        return path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+}
@@ -0,0 +1,45 @@
+package com.app.blog.idempotency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * {@code Idempotency-Key} handling of the write endpoints under {@code blog.idempotency}.
+ */
+@Data
+@ConfigurationProperties("blog.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled;
+
+    /**
+     * {@code memory} keeps keys in this instance only, {@code jdbc} shares them through the
+     * {@code idempotency_key} table so a retry may land on any instance.
+     */
+    private String store = "memory";
+
+    /**
+     * How long a stored response is replayed for the same key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Most keys the in-memory store holds; the least recently written ones are evicted first.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a duplicate waits for the request that came first before it is answered with 409.
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * A key left in progress for longer than this, by an instance that died mid-request, is taken over
+     * by the next request carrying it. Only used by the {@code jdbc} store.
+     */
+    private Duration inProgressTimeout = Duration.ofMinutes(1);
+
+    private int maxKeyLength = 255;
+}
@@ -0,0 +1,24 @@
+package com.app.blog.idempotency;
+
+/**
+ * Remembers the response of every write sent with an {@code Idempotency-Key}. A key is first
+ * {@link #claim claimed} by the one request allowed to run, then either {@link #complete completed}
+ * with its response or {@link #release released} so a retry may run it again.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * The stored response for this key, or null while it is unknown, in progress or expired.
+     */
+    StoredResponse find(String key);
+
+    /**
+     * Reserves the key for the calling request. Returns false if another request holds it or already
+     * completed it.
+     */
+    boolean claim(String key);
+
+    void complete(String key, StoredResponse response);
+
+    void release(String key);
+}
@@ -0,0 +1,51 @@
+package com.app.blog.idempotency;
+
+import com.app.blog.cache.CallerRunsExecutor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+/**
+ * Keys of this instance only, at most {@code maximumSize} of them, each kept for {@code ttl} after it
+ * was claimed or completed.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private static final Object IN_PROGRESS = new Object();
+
+    // holds IN_PROGRESS or a StoredResponse
+    private final Cache<String, Object> entries;
+
+    public InMemoryIdempotencyStore(long maximumSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .executor(CallerRunsExecutor.INSTANCE)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.entries, "idempotencyKeys");
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        return this.entries.getIfPresent(key) instanceof StoredResponse response ? response : null;
+    }
+
+    @Override
+    public boolean claim(String key) {
+        return this.entries.asMap().putIfAbsent(key, IN_PROGRESS) == null;
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        this.entries.put(key, response);
+    }
+
+    @Override
+    public void release(String key) {
+        this.entries.asMap().remove(key, IN_PROGRESS);
+    }
+}
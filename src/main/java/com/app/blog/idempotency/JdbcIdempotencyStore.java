@@ -0,0 +1,123 @@
+package com.app.blog.idempotency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keys shared by all instances through the {@code idempotency_key} table. The primary key makes
+ * {@link #claim} atomic across instances; a row without a status is still in progress. Rows older than
+ * {@code ttl} are ignored and purged in the background.
+ */
+public class JdbcIdempotencyStore implements IdempotencyStore, SmartLifecycle {
+
+    private static final RowMapper<StoredResponse> ROW_MAPPER = (resultSet, rowNum) -> new StoredResponse(
+            resultSet.getString("request_hash"),
+            resultSet.getInt("status"),
+            resultSet.getString("content_type"),
+            resultSet.getString("location"),
+            resultSet.getBytes("body"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private ScheduledExecutorService purger;
+    private volatile boolean running;
+    private final Logger logger = LoggerFactory.getLogger(JdbcIdempotencyStore.class);
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, Duration ttl, Duration inProgressTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.inProgressTimeout = inProgressTimeout;
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        List<StoredResponse> responses = this.jdbcTemplate.query(
+                "select request_hash, status, content_type, location, body from idempotency_key " +
+                        "where idempotency_key = ? and status is not null and created_at > ?",
+                ROW_MAPPER, key, ago(this.ttl));
+        return responses.isEmpty() ? null : responses.getFirst();
+    }
+
+    @Override
+    public boolean claim(String key) {
+        if (insert(key)) {
+            return true;
+        }
+        // the holder died mid-request or the row expired but was not purged yet
+        int taken = this.jdbcTemplate.update(
+                "delete from idempotency_key where idempotency_key = ? and " +
+                        "((status is null and created_at < ?) or created_at < ?)",
+                key, ago(this.inProgressTimeout), ago(this.ttl));
+        return taken > 0 && insert(key);
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        this.jdbcTemplate.update(
+                "update idempotency_key set request_hash = ?, status = ?, content_type = ?, location = ?, body = ?, " +
+                        "created_at = ? where idempotency_key = ?",
+                response.requestHash(), response.status(), response.contentType(), response.location(),
+                response.body(), Timestamp.from(Instant.now()), key);
+    }
+
+    @Override
+    public void release(String key) {
+        this.jdbcTemplate.update("delete from idempotency_key where idempotency_key = ? and status is null", key);
+    }
+
+    void purge() {
+        try {
+            int purged = this.jdbcTemplate.update("delete from idempotency_key where created_at < ?", ago(this.ttl));
+            logger.trace("JdbcIdempotencyStore - purge - {} expired keys", purged);
+        } catch (DataAccessException e) {
+            logger.error("JdbcIdempotencyStore - purge error - {}", e.getMessage());
+        }
+    }
+
+    private boolean insert(String key) {
+        try {
+            this.jdbcTemplate.update("insert into idempotency_key (idempotency_key, created_at) values (?, ?)",
+                    key, Timestamp.from(Instant.now()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private static Timestamp ago(Duration duration) {
+        return Timestamp.from(Instant.now().minus(duration));
+    }
+
+    @Override
+    public void start() {
+        this.purger = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("idempotency-key-purger").daemon().factory());
+        long interval = Math.max(this.ttl.toMillis() / 24, 1000);
+        this.purger.scheduleWithFixedDelay(this::purge, interval, interval, TimeUnit.MILLISECONDS);
+        this.running = true;
+    }
+
+    @Override
+    public void stop() {
+        this.running = false;
+        this.purger.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+}
@@ -0,0 +1,8 @@
+package com.app.blog.idempotency;
+
+/**
+ * What a retry with the same key gets back. {@code requestHash} fingerprints the request that produced
+ * it, so a key reused for a different request can be told apart from a retry.
+ */
+public record StoredResponse(String requestHash, int status, String contentType, String location, byte[] body) {
+}
@@ -0,0 +1,75 @@
+package com.app.blog.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Records how many SQL statements every request executed as the {@code blog.request.queries} summary.
+ * A request that runs the same statement more than {@code blog.metrics.n-plus-one-threshold} times is
+ * counted in {@code blog.request.n-plus-one} and logged, as that is the signature of an N+1 select.
+ */
+@Component
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    private final Logger logger = LoggerFactory.getLogger(QueryCountInterceptor.class);
+
+    public QueryCountInterceptor(QueryCounter queryCounter, MeterRegistry meterRegistry,
+                                 @Value("${blog.metrics.n-plus-one-threshold:10}") int nPlusOneThreshold) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        this.queryCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the async dispatch runs through preHandle again and is recorded on its own
+        this.queryCounter.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Map<String, Integer> statements = this.queryCounter.stop();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("blog.request.queries")
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry)
+                .record(statements.values().stream().mapToInt(Integer::intValue).sum());
+        statements.entrySet().stream()
+                .filter(statement -> statement.getValue() > this.nPlusOneThreshold)
+                .max(Map.Entry.comparingByValue())
+                .ifPresent(statement -> {
+                    Counter.builder("blog.request.n-plus-one")
+                            .description("Requests that repeated one SQL statement more often than the threshold")
+                            .tag("method", request.getMethod())
+                            .tag("uri", uri)
+                            .register(this.meterRegistry)
+                            .increment();
+                    logger.warn("Possible N+1 on {} {}: {} executions of {}",
+                            request.getMethod(), uri, statement.getValue(), statement.getKey());
+                });
+    }
+}
@@ -0,0 +1,37 @@
+package com.app.blog.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on the current thread
+ * between {@link #start()} and {@link #stop()}, grouped by statement text. Statements issued
+ * outside such a scope, e.g. from background threads, are not counted.
+ */
+@Component
+public class QueryCounter implements StatementInspector {
+
+    private final ThreadLocal<Map<String, Integer>> statements = new ThreadLocal<>();
+
+    public void start() {
+        this.statements.set(new HashMap<>());
+    }
+
+    public Map<String, Integer> stop() {
+        Map<String, Integer> counts = this.statements.get();
+        this.statements.remove();
+        return counts == null ? Map.of() : counts;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Map<String, Integer> counts = this.statements.get();
+        if (counts != null) {
+            counts.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+}
@@ -5,7 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.sql.Timestamp;
 import java.util.*;
 
 @Data
@@ -13,14 +19,23 @@ import java.util.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "blog-post")
 public class BlogPost {
 
     @Id
+    // not a sequence: MySQL has none, and the table Hibernate emulates it with is advanced on a second connection
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String title;
     private String text;
-    @ManyToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @UpdateTimestamp
+    private Timestamp timeUpdated;
+    @Version
+    private Long version;
+    @ToString.Exclude
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "blog-post-tags")
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name="BLOG_POST_TAGS",
             joinColumns = @JoinColumn(name = "BLOG_POSTS_ID"),
@@ -28,6 +43,14 @@ public class BlogPost {
     )
     private Set<Tag> tags = new HashSet<>();
 
+    /**
+     * Marks the post as written now. Changing only the tag set does not dirty the post's own columns,
+     * so {@code @UpdateTimestamp} alone would miss it.
+     */
+    public void touch() {
+        this.timeUpdated = new Timestamp(System.currentTimeMillis());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -5,7 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.sql.Timestamp;
 import java.util.HashSet;
@@ -17,16 +23,24 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@BatchSize(size = 100)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tag")
+@NaturalIdCache(region = "tag-natural-id")
 public class Tag {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    // mutable: tags can be renamed
+    @NaturalId(mutable = true)
     @Column(unique=true)
     private String name;
     @CreationTimestamp
     private Timestamp timeCreated;
-    @ManyToMany(mappedBy = "tags", fetch = FetchType.EAGER)
+    @Version
+    private Long version;
+    @ToString.Exclude
+    @ManyToMany(mappedBy = "tags", fetch = FetchType.LAZY)
     private Set<BlogPost> blogPosts = new HashSet<>();
 
     @Override
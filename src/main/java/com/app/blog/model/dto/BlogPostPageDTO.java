@@ -0,0 +1,21 @@
+package com.app.blog.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BlogPostPageDTO {
+
+    @Builder.Default
+    private List<BlogPostDTO> content = new ArrayList<>();
+    private String nextCursor;
+
+}
@@ -0,0 +1,17 @@
+package com.app.blog.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemErrorDTO {
+
+    private int index;
+    private String message;
+
+}
@@ -0,0 +1,23 @@
+package com.app.blog.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagChangeStatusDTO {
+
+    private String id;
+    private Long blogPostId;
+    private Status status;
+    private String message;
+
+    public enum Status {
+        PENDING, APPLIED, FAILED
+    }
+
+}
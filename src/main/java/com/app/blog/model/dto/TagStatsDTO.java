@@ -0,0 +1,20 @@
+package com.app.blog.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagStatsDTO {
+
+    private String name;
+    private long postCount;
+    private Timestamp lastUsed;
+
+}
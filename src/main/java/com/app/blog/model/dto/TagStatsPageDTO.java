@@ -0,0 +1,22 @@
+package com.app.blog.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TagStatsPageDTO {
+
+    @Builder.Default
+    private List<TagStatsDTO> content = new ArrayList<>();
+    private long totalElements;
+    private Integer nextPage;
+
+}
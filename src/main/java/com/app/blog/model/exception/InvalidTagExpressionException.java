@@ -0,0 +1,7 @@
+package com.app.blog.model.exception;
+
+public class InvalidTagExpressionException extends RuntimeException {
+    public InvalidTagExpressionException(String reason) {
+        super("Invalid tag expression: " + reason);
+    }
+}
@@ -0,0 +1,7 @@
+package com.app.blog.model.exception;
+
+public class TagChangeNotFoundException extends RuntimeException {
+    public TagChangeNotFoundException() {
+        super("Tag change not found");
+    }
+}
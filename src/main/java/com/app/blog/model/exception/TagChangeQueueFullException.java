@@ -0,0 +1,16 @@
+package com.app.blog.model.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class TagChangeQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TagChangeQueueFullException(Duration retryAfter) {
+        super("Too many pending tag changes, try again later");
+        this.retryAfter = retryAfter;
+    }
+}
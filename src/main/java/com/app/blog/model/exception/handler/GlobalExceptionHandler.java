@@ -1,10 +1,15 @@
 package com.app.blog.model.exception.handler;
 
 import com.app.blog.model.exception.BlogPostNotFoundException;
+import com.app.blog.model.exception.InvalidCursorException;
+import com.app.blog.model.exception.InvalidTagExpressionException;
 import com.app.blog.model.exception.TagAlreadyExistsException;
+import com.app.blog.model.exception.TagChangeNotFoundException;
+import com.app.blog.model.exception.TagChangeQueueFullException;
 import com.app.blog.model.exception.TagNotFoundException;
 import com.app.blog.model.exception.response.ExceptionResponse;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -43,6 +48,43 @@ public class GlobalExceptionHandler {
                 response, new HttpHeaders(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex) {
+        ExceptionResponse response = new ExceptionResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(
+                response, new HttpHeaders(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidTagExpressionException.class)
+    public ResponseEntity<Object> handleInvalidTagExpressionException(InvalidTagExpressionException ex) {
+        ExceptionResponse response = new ExceptionResponse(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        return new ResponseEntity<>(
+                response, new HttpHeaders(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TagChangeNotFoundException.class)
+    public ResponseEntity<Object> handleTagChangeNotFoundException(TagChangeNotFoundException ex) {
+        ExceptionResponse response = new ExceptionResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+        return new ResponseEntity<>(
+                response, new HttpHeaders(), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(TagChangeQueueFullException.class)
+    public ResponseEntity<Object> handleTagChangeQueueFullException(TagChangeQueueFullException ex) {
+        ExceptionResponse response = new ExceptionResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())));
+        return new ResponseEntity<>(
+                response, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException ex) {
+        ExceptionResponse response = new ExceptionResponse("Resource was modified by another request, reload it and try again", HttpStatus.CONFLICT);
+        return new ResponseEntity<>(
+                response, new HttpHeaders(), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
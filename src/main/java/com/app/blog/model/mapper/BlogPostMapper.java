@@ -1,30 +1,72 @@
 package com.app.blog.model.mapper;
 
+import com.app.blog.cache.TagNameCache;
 import com.app.blog.model.BlogPost;
 import com.app.blog.model.Tag;
 import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.repository.BlogPostContent;
+import com.app.blog.repository.BlogPostTagLink;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Maps posts to DTOs on every read and write, so it sticks to plain loops: no streams, no builders, and
+ * tag name lists sized up front. Tag names are replaced by the copy held in the {@link TagNameCache}.
+ */
 @Component
 public class BlogPostMapper {
 
+    private final TagNameCache tagNameCache;
+
+    public BlogPostMapper(TagNameCache tagNameCache) {
+        this.tagNameCache = tagNameCache;
+    }
+
     public BlogPostDTO convertToDto(BlogPost blogPost) {
-        BlogPostDTO blogPostDTO = BlogPostDTO.builder()
-                .title(blogPost.getTitle())
-                .text(blogPost.getText())
-                .build();
-
-        if (blogPost.getTags() != null) {
-            blogPostDTO.setTags(blogPost.getTags().stream()
-                    .map(Tag::getName)
-                    .toList());
+        Set<Tag> tags = blogPost.getTags();
+        List<String> tagNames;
+        if (tags == null) {
+            tagNames = new ArrayList<>();
         } else {
-            blogPostDTO.setTags(new ArrayList<>());
+            tagNames = new ArrayList<>(tags.size());
+            for (Tag tag : tags) {
+                tagNames.add(this.tagNameCache.canonicalName(tag.getId(), tag.getName()));
+            }
         }
+        return new BlogPostDTO(blogPost.getTitle(), blogPost.getText(), tagNames);
+    }
 
-        return blogPostDTO;
+    /**
+     * A new, unsaved post carrying the given, already resolved tags.
+     */
+    public BlogPost convertToEntity(BlogPostDTO blogPostDTO, Set<Tag> tags) {
+        BlogPost blogPost = new BlogPost();
+        blogPost.setTitle(blogPostDTO.getTitle());
+        blogPost.setText(blogPostDTO.getText());
+        blogPost.setTags(tags);
+        return blogPost;
+    }
+
+    /**
+     * Maps posts and tags read as rows, in the order of {@code blogPosts}.
+     */
+    public List<BlogPostDTO> convertToDtos(List<BlogPostContent> blogPosts, List<BlogPostTagLink> tagLinks) {
+        Map<Long, List<String>> tagNames = new HashMap<>(blogPosts.size() * 2);
+        for (BlogPostTagLink tagLink : tagLinks) {
+            tagNames.computeIfAbsent(tagLink.blogPostId(), id -> new ArrayList<>())
+                    .add(this.tagNameCache.canonicalName(tagLink.tagId(), tagLink.tagName()));
+        }
+        List<BlogPostDTO> blogPostDTOs = new ArrayList<>(blogPosts.size());
+        for (BlogPostContent blogPost : blogPosts) {
+            List<String> names = tagNames.get(blogPost.id());
+            blogPostDTOs.add(new BlogPostDTO(blogPost.title(), blogPost.text(), names == null ? new ArrayList<>() : names));
+        }
+        return blogPostDTOs;
     }
 
 }
@@ -0,0 +1,26 @@
+package com.app.blog.model.mapper;
+
+import com.app.blog.model.Tag;
+import com.app.blog.model.dto.TagDTO;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TagMapper {
+
+    public TagDTO convertToDto(Tag tag) {
+        return new TagDTO(tag.getName());
+    }
+
+    public TagDTO convertToDto(String name) {
+        return new TagDTO(name);
+    }
+
+    /**
+     * A new, unsaved tag; id, version and creation time are filled in by the database.
+     */
+    public Tag convertToEntity(TagDTO tagDTO) {
+        Tag tag = new Tag();
+        tag.setName(tagDTO.getName());
+        return tag;
+    }
+}
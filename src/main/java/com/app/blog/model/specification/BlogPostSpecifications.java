@@ -1,11 +1,22 @@
 package com.app.blog.model.specification;
 
 import com.app.blog.model.BlogPost;
+import com.app.blog.model.Tag;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
 public class BlogPostSpecifications {
 
     private BlogPostSpecifications() {
@@ -17,7 +28,21 @@ public class BlogPostSpecifications {
             if (tagName == null || tagName.isEmpty()) {
                 return null;
             }
-            return cb.equal(cb.lower(root.join("tags").get("name")), tagName.toLowerCase());
+            return root.get("id").in(postsWithTags(Set.of(tagName.toLowerCase(Locale.ROOT)), false, query, cb));
+        };
+    }
+
+    /**
+     * Matches posts against a boolean tag expression. Every tag test is a semi-join ({@code id in (...)}) on
+     * the join table, so a post is never returned twice, and the plain tags of one AND (or OR) share a single
+     * subquery: {@code having count(distinct tag) = n} for AND, a plain {@code in} list for OR.
+     */
+    public static Specification<BlogPost> matchesTags(TagExpression expression) {
+        return (Root<BlogPost> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+            if (expression == null) {
+                return null;
+            }
+            return toPredicate(expression, root, query, cb);
         };
     }
 
@@ -30,12 +55,51 @@ public class BlogPostSpecifications {
         };
     }
 
-    public static Specification<BlogPost> hasLimit(Integer limit) {
+    public static Specification<BlogPost> hasIdGreaterThan(Long lastId) {
         return (Root<BlogPost> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
-            if (limit == null || limit <= 0) {
+            if (lastId == null) {
                 return null;
             }
-            return null;
+            return cb.greaterThan(root.get("id"), lastId);
         };
     }
+
+    private static Predicate toPredicate(TagExpression expression, Root<BlogPost> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        return switch (expression) {
+            case TagExpression.Tag tag ->
+                    root.get("id").in(postsWithTags(Set.of(tag.name().toLowerCase(Locale.ROOT)), false, query, cb));
+            case TagExpression.Not not -> cb.not(toPredicate(not.operand(), root, query, cb));
+            case TagExpression.And and -> cb.and(combine(and.operands(), true, root, query, cb));
+            case TagExpression.Or or -> cb.or(combine(or.operands(), false, root, query, cb));
+        };
+    }
+
+    private static Predicate[] combine(List<TagExpression> operands, boolean all, Root<BlogPost> root,
+                                       CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Set<String> names = new TreeSet<>();
+        List<Predicate> predicates = new ArrayList<>();
+        for (TagExpression operand : operands) {
+            if (operand instanceof TagExpression.Tag tag) {
+                names.add(tag.name().toLowerCase(Locale.ROOT));
+            } else {
+                predicates.add(toPredicate(operand, root, query, cb));
+            }
+        }
+        if (!names.isEmpty()) {
+            predicates.addFirst(root.get("id").in(postsWithTags(names, all, query, cb)));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static Subquery<Long> postsWithTags(Set<String> names, boolean all, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<Tag> tag = subquery.from(Tag.class);
+        Join<Tag, BlogPost> blogPost = tag.join("blogPosts");
+        Expression<String> name = cb.lower(tag.get("name"));
+        subquery.select(blogPost.get("id")).where(name.in(names));
+        if (all && names.size() > 1) {
+            subquery.groupBy(blogPost.get("id")).having(cb.equal(cb.countDistinct(name), (long) names.size()));
+        }
+        return subquery;
+    }
 }
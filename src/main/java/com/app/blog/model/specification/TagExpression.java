@@ -0,0 +1,44 @@
+package com.app.blog.model.specification;
+
+import java.util.List;
+
+/**
+ * Boolean expression over tag names, e.g. {@code java+spring-python} or {@code (java|kotlin) -legacy}.
+ * <ul>
+ *     <li>{@code +}, whitespace or plain juxtaposition: AND</li>
+ *     <li>{@code |} or {@code ,}: OR</li>
+ *     <li>{@code -} or {@code !}: NOT, also between two terms as AND NOT</li>
+ *     <li>parentheses group, double quotes allow tag names containing operator characters</li>
+ * </ul>
+ * NOT binds tighter than AND, AND tighter than OR. In a query string a literal {@code +} arrives as a
+ * space, which parses the same way.
+ */
+public sealed interface TagExpression {
+
+    int MAX_TAGS = 20;
+
+    /**
+     * Most parentheses and NOTs nested inside each other; keeps the parser and the specification built
+     * from the expression from recursing without bound.
+     */
+    int MAX_DEPTH = 32;
+
+    record Tag(String name) implements TagExpression {
+    }
+
+    record And(List<TagExpression> operands) implements TagExpression {
+    }
+
+    record Or(List<TagExpression> operands) implements TagExpression {
+    }
+
+    record Not(TagExpression operand) implements TagExpression {
+    }
+
+    static TagExpression parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return null;
+        }
+        return new TagExpressionParser(expression).parse();
+    }
+}
@@ -0,0 +1,128 @@
+package com.app.blog.model.specification;
+
+import com.app.blog.model.exception.InvalidTagExpressionException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive descent parser for {@link TagExpression}, one method per precedence level.
+ */
+final class TagExpressionParser {
+
+    private final String input;
+    private int position;
+    private int tags;
+    private int depth;
+
+    TagExpressionParser(String input) {
+        this.input = input;
+    }
+
+    TagExpression parse() {
+        TagExpression expression = parseOr();
+        skipWhitespace();
+        if (this.position < this.input.length()) {
+            throw new InvalidTagExpressionException("unexpected '" + this.input.charAt(this.position) + "'");
+        }
+        return expression;
+    }
+
+    private TagExpression parseOr() {
+        List<TagExpression> operands = new ArrayList<>(List.of(parseAnd()));
+        while (peek() == '|' || peek() == ',') {
+            this.position++;
+            operands.add(parseAnd());
+        }
+        return operands.size() == 1 ? operands.getFirst() : new TagExpression.Or(operands);
+    }
+
+    private TagExpression parseAnd() {
+        List<TagExpression> operands = new ArrayList<>(List.of(parseUnary()));
+        while (true) {
+            char next = peek();
+            if (next == '+') {
+                this.position++;
+                operands.add(parseUnary());
+            } else if (next == '-') {
+                this.position++;
+                operands.add(new TagExpression.Not(parseUnary()));
+            } else if (next != 0 && next != '|' && next != ',' && next != ')') {
+                operands.add(parseUnary());
+            } else {
+                break;
+            }
+        }
+        return operands.size() == 1 ? operands.getFirst() : new TagExpression.And(operands);
+    }
+
+    private TagExpression parseUnary() {
+        char next = peek();
+        if (next == '-' || next == '!') {
+            this.position++;
+            enter();
+            TagExpression operand = parseUnary();
+            this.depth--;
+            return new TagExpression.Not(operand);
+        }
+        if (next == '(') {
+            this.position++;
+            enter();
+            TagExpression expression = parseOr();
+            if (peek() != ')') {
+                throw new InvalidTagExpressionException("missing ')'");
+            }
+            this.position++;
+            this.depth--;
+            return expression;
+        }
+        return parseTag();
+    }
+
+    private void enter() {
+        if (++this.depth > TagExpression.MAX_DEPTH) {
+            throw new InvalidTagExpressionException("nested deeper than " + TagExpression.MAX_DEPTH + " levels");
+        }
+    }
+
+    private TagExpression.Tag parseTag() {
+        skipWhitespace();
+        String name;
+        if (this.position < this.input.length() && this.input.charAt(this.position) == '"') {
+            int end = this.input.indexOf('"', this.position + 1);
+            if (end < 0) {
+                throw new InvalidTagExpressionException("missing closing quote");
+            }
+            name = this.input.substring(this.position + 1, end);
+            this.position = end + 1;
+        } else {
+            int start = this.position;
+            while (this.position < this.input.length() && !isOperator(this.input.charAt(this.position))) {
+                this.position++;
+            }
+            name = this.input.substring(start, this.position);
+        }
+        if (name.isBlank()) {
+            throw new InvalidTagExpressionException("tag name expected at position " + this.position);
+        }
+        if (++this.tags > TagExpression.MAX_TAGS) {
+            throw new InvalidTagExpressionException("more than " + TagExpression.MAX_TAGS + " tags");
+        }
+        return new TagExpression.Tag(name);
+    }
+
+    private char peek() {
+        skipWhitespace();
+        return this.position < this.input.length() ? this.input.charAt(this.position) : 0;
+    }
+
+    private void skipWhitespace() {
+        while (this.position < this.input.length() && Character.isWhitespace(this.input.charAt(this.position))) {
+            this.position++;
+        }
+    }
+
+    private static boolean isOperator(char c) {
+        return Character.isWhitespace(c) || "+-!|,()\"".indexOf(c) >= 0;
+    }
+}
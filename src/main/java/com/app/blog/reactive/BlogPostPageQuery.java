@@ -0,0 +1,104 @@
+package com.app.blog.reactive;
+
+import com.app.blog.model.specification.TagExpression;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * One keyset page of {@code blog_post} rows filtered the way {@code BlogPostSpecifications} filters the
+ * servlet endpoint: every tag test is a semi-join on the join table, the plain tags of one AND (or OR)
+ * share a single subquery, and tag names match case-insensitively. Tag names are bound, never inlined.
+ */
+final class BlogPostPageQuery {
+
+    private static final String POSTS_WITH_TAGS = "b.id in (select bt.blog_posts_id from blog_post_tags bt " +
+            "join tag t on t.id = bt.tags_id where lower(t.name) in (:%s)%s)";
+
+    private final StringBuilder where = new StringBuilder("b.id > :afterId");
+    private final Map<String, Object> bindings = new LinkedHashMap<>();
+    private int parameters;
+
+    BlogPostPageQuery(long afterId) {
+        this.bindings.put("afterId", afterId);
+    }
+
+    BlogPostPageQuery hasTagName(String tagName) {
+        if (tagName != null && !tagName.isEmpty()) {
+            this.where.append(" and ").append(postsWithTags(Set.of(tagName.toLowerCase(Locale.ROOT)), false));
+        }
+        return this;
+    }
+
+    BlogPostPageQuery matchesTags(TagExpression expression) {
+        if (expression != null) {
+            this.where.append(" and ").append(toCondition(expression));
+        }
+        return this;
+    }
+
+    BlogPostPageQuery hasTagNumberGreaterOrEqual(Integer tagNumber) {
+        if (tagNumber != null) {
+            this.where.append(" and (select count(*) from blog_post_tags bt where bt.blog_posts_id = b.id) >= ")
+                    .append(bind(tagNumber));
+        }
+        return this;
+    }
+
+    Flux<BlogPostRow> fetch(DatabaseClient databaseClient, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("select b.id, b.title, b.text, b.version " +
+                "from blog_post b where " + this.where + " order by b.id limit " + bind(limit));
+        for (Map.Entry<String, Object> binding : this.bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(row -> new BlogPostRow(row.get("id", Long.class), row.get("title", String.class),
+                        row.get("text", String.class), row.get("version", Long.class)))
+                .all();
+    }
+
+    private String toCondition(TagExpression expression) {
+        return switch (expression) {
+            case TagExpression.Tag tag -> postsWithTags(Set.of(tag.name().toLowerCase(Locale.ROOT)), false);
+            case TagExpression.Not not -> "not (" + toCondition(not.operand()) + ")";
+            case TagExpression.And and -> combine(and.operands(), true);
+            case TagExpression.Or or -> combine(or.operands(), false);
+        };
+    }
+
+    private String combine(List<TagExpression> operands, boolean all) {
+        Set<String> names = new TreeSet<>();
+        StringBuilder conditions = new StringBuilder();
+        String separator = all ? " and " : " or ";
+        for (TagExpression operand : operands) {
+            if (operand instanceof TagExpression.Tag tag) {
+                names.add(tag.name().toLowerCase(Locale.ROOT));
+            } else {
+                conditions.append(separator).append(toCondition(operand));
+            }
+        }
+        if (!names.isEmpty()) {
+            conditions.insert(0, separator + postsWithTags(names, all));
+        }
+        return "(" + conditions.substring(separator.length()) + ")";
+    }
+
+    private String postsWithTags(Set<String> names, boolean all) {
+        String having = all && names.size() > 1
+                ? " group by bt.blog_posts_id having count(distinct lower(t.name)) = " + bind((long) names.size())
+                : "";
+        return POSTS_WITH_TAGS.formatted(bind(List.copyOf(names)).substring(1), having);
+    }
+
+    // returns the placeholder, ":p0", ":p1", ...
+    private String bind(Object value) {
+        String name = "p" + this.parameters++;
+        this.bindings.put(name, value);
+        return ":" + name;
+    }
+}
@@ -0,0 +1,11 @@
+package com.app.blog.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Columns of {@code blog_post} the read API renders. Tags are read separately, R2DBC has no associations.
+ */
+@Table("blog_post")
+public record BlogPostRow(@Id Long id, String title, String text, Long version) {
+}
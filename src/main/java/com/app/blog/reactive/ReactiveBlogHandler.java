@@ -0,0 +1,175 @@
+package com.app.blog.reactive;
+
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
+import com.app.blog.model.dto.TagDTO;
+import com.app.blog.model.exception.BlogPostNotFoundException;
+import com.app.blog.model.exception.InvalidCursorException;
+import com.app.blog.model.exception.InvalidTagExpressionException;
+import com.app.blog.model.exception.response.ExceptionResponse;
+import com.app.blog.model.pagination.Cursor;
+import com.app.blog.model.specification.TagExpression;
+import com.app.blog.repository.BlogPostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Read-only {@code GET /blogs}, {@code GET /blogs/{id}} and {@code GET /tags} on R2DBC, answering with the
+ * same DTOs as the servlet controllers. {@code GET /blogs} takes the same {@code tag}, {@code tags} and
+ * {@code minTags} filters, and streams every post instead of one page when the client asks for
+ * {@code application/x-ndjson} or {@code text/event-stream}.
+ * <p>
+ * Reads go straight to the database: the blog post cache, replica routing and the search index belong
+ * to the servlet stack.
+ */
+public class ReactiveBlogHandler {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    private static final List<MediaType> STREAMING_TYPES = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+    private static final String TAG_NAMES_SQL = "select bt.blog_posts_id, t.name from blog_post_tags bt " +
+            "join tag t on t.id = bt.tags_id where bt.blog_posts_id in (:ids)";
+
+    private final ReactiveBlogPostRepository blogPostRepository;
+    private final ReactiveTagRepository tagRepository;
+    private final DatabaseClient databaseClient;
+    private final Logger logger = LoggerFactory.getLogger(ReactiveBlogHandler.class);
+
+    public ReactiveBlogHandler(ReactiveBlogPostRepository blogPostRepository, ReactiveTagRepository tagRepository,
+                               DatabaseClient databaseClient) {
+        this.blogPostRepository = blogPostRepository;
+        this.tagRepository = tagRepository;
+        this.databaseClient = databaseClient;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return route(GET("/blogs"), this::getBlogPosts)
+                .andRoute(GET("/blogs/{id}"), this::getBlogPostById)
+                .andRoute(GET("/tags"), this::getAllTags);
+    }
+
+    Mono<ServerResponse> getBlogPosts(ServerRequest request) {
+        logger.trace("ReactiveBlogHandler - getBlogPosts");
+        MediaType streamingType = streamingType(request);
+        if (streamingType != null) {
+            return ServerResponse.ok().contentType(streamingType).body(exportAll(), BlogPostDTO.class);
+        }
+        return Mono.defer(() -> {
+            Integer limit = request.queryParam("limit").map(Integer::valueOf).orElse(null);
+            int pageSize = (limit == null || limit <= 0) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+            Long afterId = Cursor.decode(request.queryParam("cursor").orElse(null));
+            long after = afterId == null ? 0 : afterId;
+            String tag = request.queryParam("tag").orElse(null);
+            TagExpression tags = TagExpression.parse(request.queryParam("tags").orElse(null));
+            Integer minTags = request.queryParam("minTags").map(Integer::valueOf).orElse(null);
+            // one extra row tells us whether another page exists without issuing a count query
+            Flux<BlogPostRow> rows = tag == null && tags == null && minTags == null
+                    ? this.blogPostRepository.findPage(after, pageSize + 1)
+                    : new BlogPostPageQuery(after)
+                            .hasTagName(tag)
+                            .matchesTags(tags)
+                            .hasTagNumberGreaterOrEqual(minTags)
+                            .fetch(this.databaseClient, pageSize + 1);
+            return rows.collectList().flatMap(blogPosts -> {
+                boolean hasNext = blogPosts.size() > pageSize;
+                List<BlogPostRow> page = hasNext ? blogPosts.subList(0, pageSize) : blogPosts;
+                return withTags(page).map(content -> BlogPostPageDTO.builder()
+                        .content(content)
+                        .nextCursor(hasNext ? Cursor.encode(page.getLast().id()) : null)
+                        .build());
+            });
+        }).flatMap(page -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(page))
+                .onErrorResume(this::errorResponse);
+    }
+
+    Mono<ServerResponse> getBlogPostById(ServerRequest request) {
+        logger.trace("ReactiveBlogHandler - getBlogPostById");
+        return Mono.defer(() -> this.blogPostRepository.findById(Long.valueOf(request.pathVariable("id"))))
+                .switchIfEmpty(Mono.error(() -> {
+                    logger.error("ReactiveBlogHandler - getBlogPostById error - Blog Post Not Found");
+                    return new BlogPostNotFoundException();
+                }))
+                .flatMap(blogPost -> withTags(List.of(blogPost)))
+                .flatMap(blogPosts -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(blogPosts.getFirst()))
+                .onErrorResume(this::errorResponse);
+    }
+
+    Mono<ServerResponse> getAllTags(ServerRequest request) {
+        logger.trace("ReactiveBlogHandler - getAllTags");
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(this.tagRepository.findAll().map(tag -> new TagDTO(tag.name())), TagDTO.class);
+    }
+
+    // posts are read in batches and each batch gets its tags in one query; concatMap only asks for
+    // the next batch once the client has taken the previous one, so memory stays flat however large the table
+    Flux<BlogPostDTO> exportAll() {
+        return this.blogPostRepository.streamAll()
+                .buffer(BlogPostRepository.STREAM_FETCH_SIZE)
+                .concatMap(this::withTags)
+                .flatMapIterable(blogPosts -> blogPosts);
+    }
+
+    private Mono<List<BlogPostDTO>> withTags(List<BlogPostRow> blogPosts) {
+        if (blogPosts.isEmpty()) {
+            return Mono.just(List.of());
+        }
+        List<Long> ids = blogPosts.stream().map(BlogPostRow::id).toList();
+        return this.databaseClient.sql(TAG_NAMES_SQL)
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("blog_posts_id", Long.class), row.get("name", String.class)))
+                .all()
+                .collectMultimap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(tags -> blogPosts.stream()
+                        .map(blogPost -> {
+                            Collection<String> names = tags.get(blogPost.id());
+                            return new BlogPostDTO(blogPost.title(), blogPost.text(),
+                                    names == null ? new ArrayList<>() : new ArrayList<>(names));
+                        })
+                        .toList());
+    }
+
+    private static MediaType streamingType(ServerRequest request) {
+        // a wildcard accepts streaming as well, but only clients that name a streaming type get one
+        for (MediaType accepted : request.headers().accept()) {
+            if (accepted.isWildcardType() || accepted.isWildcardSubtype()) {
+                continue;
+            }
+            for (MediaType streamingType : STREAMING_TYPES) {
+                if (streamingType.isCompatibleWith(accepted)) {
+                    return streamingType;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Mono<ServerResponse> errorResponse(Throwable ex) {
+        HttpStatus status;
+        if (ex instanceof BlogPostNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (ex instanceof InvalidCursorException || ex instanceof InvalidTagExpressionException
+                || ex instanceof NumberFormatException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else {
+            return Mono.error(ex);
+        }
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ExceptionResponse(ex.getMessage(), status));
+    }
+}
@@ -0,0 +1,14 @@
+package com.app.blog.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveBlogPostRepository extends R2dbcRepository<BlogPostRow, Long> {
+
+    @Query("select id, title, text, version from blog_post where id > :afterId order by id limit :limit")
+    Flux<BlogPostRow> findPage(long afterId, int limit);
+
+    @Query("select id, title, text, version from blog_post order by id")
+    Flux<BlogPostRow> streamAll();
+}
@@ -0,0 +1,41 @@
+package com.app.blog.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking read API under {@code blog.reactive}. Credentials default to those of
+ * {@code spring.datasource}.
+ */
+@Data
+@ConfigurationProperties("blog.reactive")
+public class ReactiveProperties {
+
+    private boolean enabled;
+
+    /**
+     * Port of the Netty server, next to the servlet container's {@code server.port}. 0 picks a free one.
+     */
+    private int port = 8081;
+
+    /**
+     * R2DBC url of the same database, e.g. {@code r2dbc:mysql://localhost:3306/blogging}.
+     */
+    private String url;
+    private String username;
+    private String password;
+
+    private int poolMaxSize = 20;
+
+    /**
+     * How long a request waits for a pooled connection before it fails.
+     */
+    private Duration poolMaxAcquireTime = Duration.ofSeconds(2);
+
+    /**
+     * Responses at least this large are gzip'ed when the client accepts it; negative turns compression off.
+     */
+    private int compressionMinResponseSize = 2048;
+}
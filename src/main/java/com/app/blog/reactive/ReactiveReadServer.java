@@ -0,0 +1,119 @@
+package com.app.blog.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.support.R2dbcRepositoryFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+/**
+ * Serves {@link ReactiveBlogHandler} from its own Netty server on {@code blog.reactive.port}, enabled with
+ * {@code blog.reactive.enabled}. The servlet container keeps serving the full API on {@code server.port}.
+ * <p>
+ * The R2DBC pool is owned here instead of being a bean: with a {@code ConnectionFactory} bean Spring Boot
+ * backs off from the JDBC {@code DataSource} that JPA and Flyway need.
+ */
+@Component
+@EnableConfigurationProperties(ReactiveProperties.class)
+@ConditionalOnProperty(name = "blog.reactive.enabled", havingValue = "true")
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ReactiveProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private ConnectionPool connectionPool;
+    private DisposableServer server;
+    private final Logger logger = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    public ReactiveReadServer(ReactiveProperties properties, DataSourceProperties dataSourceProperties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void start() {
+        this.connectionPool = createConnectionPool();
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(this.connectionPool);
+        R2dbcRepositoryFactory repositoryFactory = new R2dbcRepositoryFactory(template);
+        ReactiveBlogHandler handler = new ReactiveBlogHandler(
+                repositoryFactory.getRepository(ReactiveBlogPostRepository.class),
+                repositoryFactory.getRepository(ReactiveTagRepository.class),
+                template.getDatabaseClient());
+        // the application's mapper, so DTOs are written by the same serializers as on the servlet side
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(this.objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(this.objectMapper));
+                })
+                .build();
+        HttpServer httpServer = HttpServer.create().port(this.properties.getPort());
+        if (this.properties.getCompressionMinResponseSize() >= 0) {
+            httpServer = httpServer.compress(this.properties.getCompressionMinResponseSize());
+        }
+        this.server = httpServer
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(handler.routes(), strategies)))
+                .bindNow();
+        logger.info("Reactive read API started on port {}", this.server.port());
+    }
+
+    @Override
+    public void stop() {
+        if (this.server != null) {
+            this.server.disposeNow(SHUTDOWN_TIMEOUT);
+            this.server = null;
+        }
+        if (this.connectionPool != null) {
+            this.connectionPool.dispose();
+            this.connectionPool = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.server != null;
+    }
+
+    public int getPort() {
+        return this.server.port();
+    }
+
+    private ConnectionPool createConnectionPool() {
+        String username = this.properties.getUsername() != null ? this.properties.getUsername() : this.dataSourceProperties.determineUsername();
+        String password = this.properties.getPassword() != null ? this.properties.getPassword() : this.dataSourceProperties.determinePassword();
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(this.properties.getUrl()).mutate();
+        if (username != null) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (password != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name("reactive")
+                // fixed size like the Hikari pool, so a burst never waits on connection setup
+                .initialSize(this.properties.getPoolMaxSize())
+                .maxSize(this.properties.getPoolMaxSize())
+                .maxAcquireTime(this.properties.getPoolMaxAcquireTime())
+                .build());
+    }
+}
@@ -0,0 +1,6 @@
+package com.app.blog.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+public interface ReactiveTagRepository extends R2dbcRepository<TagRow, Long> {
+}
@@ -0,0 +1,8 @@
+package com.app.blog.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("tag")
+public record TagRow(@Id Long id, String name) {
+}
@@ -0,0 +1,7 @@
+package com.app.blog.repository;
+
+/**
+ * A post's own columns, read by {@link BlogPostPageRepository#findContentBy} without building an entity.
+ */
+public record BlogPostContent(Long id, String title, String text) {
+}
@@ -0,0 +1,15 @@
+package com.app.blog.repository;
+
+import com.app.blog.model.BlogPost;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface BlogPostPageRepository {
+
+    /**
+     * Up to {@code limit} posts matching the specification in id order, as plain rows: no managed
+     * entities, so no hydration and no dirty-checking snapshots for a page that is only mapped.
+     */
+    List<BlogPostContent> findContentBy(Specification<BlogPost> specification, int limit);
+}
@@ -0,0 +1,34 @@
+package com.app.blog.repository;
+
+import com.app.blog.model.BlogPost;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class BlogPostPageRepositoryImpl implements BlogPostPageRepository {
+
+    private final EntityManager entityManager;
+
+    BlogPostPageRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<BlogPostContent> findContentBy(Specification<BlogPost> specification, int limit) {
+        CriteriaBuilder cb = this.entityManager.getCriteriaBuilder();
+        CriteriaQuery<BlogPostContent> query = cb.createQuery(BlogPostContent.class);
+        Root<BlogPost> blogPost = query.from(BlogPost.class);
+        query.select(cb.construct(BlogPostContent.class, blogPost.get("id"), blogPost.get("title"), blogPost.get("text")));
+        Predicate predicate = specification.toPredicate(blogPost, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(blogPost.get("id")));
+        return this.entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
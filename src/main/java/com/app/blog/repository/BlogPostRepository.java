@@ -2,13 +2,76 @@ package com.app.blog.repository;
 
 import com.app.blog.model.BlogPost;
 import com.app.blog.model.Tag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BlogPostRepository extends JpaRepository<BlogPost, Long>, JpaSpecificationExecutor<BlogPost> {
+public interface BlogPostRepository extends JpaRepository<BlogPost, Long>, JpaSpecificationExecutor<BlogPost>,
+        BlogPostPageRepository {
+    int STREAM_FETCH_SIZE = 500;
+
     List<BlogPost> findBlogPostByTagsContaining(Tag tag);
+
+    @Transactional(readOnly = true)
+    @EntityGraph(attributePaths = "tags")
+    Optional<BlogPost> findWithTagsById(Long id);
+
+    @EntityGraph(attributePaths = "tags")
+    List<BlogPost> findWithTagsByIdIn(Collection<Long> ids);
+
+    /**
+     * Tag links of the given posts as flat rows, for mapping a page without loading tag collections
+     * or tag entities.
+     */
+    @Query("select new com.app.blog.repository.BlogPostTagLink(b.id, t.id, t.name) from BlogPost b join b.tags t where b.id in :ids")
+    List<BlogPostTagLink> findTagLinksByIdIn(Collection<Long> ids);
+
+    @Query("select b.id from BlogPost b join b.tags t where t.id = :tagId")
+    List<Long> findIdsByTagId(Long tagId);
+
+    @Transactional(readOnly = true)
+    @Query("select b.version from BlogPost b where b.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Moves the version of every post carrying the tag in one statement, without reading their ids.
+     * Reads the link table rather than {@code blog_post}, which MySQL does not allow in the subquery
+     * of an update on {@code blog_post}.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "blog_post"))
+    @Query(value = "update blog_post set version = version + 1 " +
+            "where id in (select blog_posts_id from blog_post_tags where tags_id = :tagId)", nativeQuery = true)
+    int incrementVersionsByTagId(Long tagId);
+
+    /**
+     * Unlinks a tag from every post in one statement, without loading the posts or their tag sets.
+     * Hibernate matches native spaces against entity tables and evicts the collections those entities
+     * take part in, so naming the tag table invalidates the tag and tag collection regions but keeps
+     * the cached posts.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tag"))
+    @Query(value = "delete from blog_post_tags where tags_id = :tagId", nativeQuery = true)
+    int deleteTagLinksByTagId(Long tagId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select distinct b from BlogPost b left join fetch b.tags order by b.id")
+    Stream<BlogPost> streamAllBy();
 }
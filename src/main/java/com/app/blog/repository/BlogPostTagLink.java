@@ -0,0 +1,7 @@
+package com.app.blog.repository;
+
+/**
+ * One row of a post's tag set, read by {@link BlogPostRepository#findTagLinksByIdIn}.
+ */
+public record BlogPostTagLink(Long blogPostId, Long tagId, String tagName) {
+}
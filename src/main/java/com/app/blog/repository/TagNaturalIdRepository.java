@@ -0,0 +1,14 @@
+package com.app.blog.repository;
+
+import com.app.blog.model.Tag;
+
+import java.util.Optional;
+
+public interface TagNaturalIdRepository {
+
+    /**
+     * Looks a tag up by its natural id. Unlike a {@code where name = ?} query this is answered from the
+     * second-level natural-id cache when the name has been resolved before.
+     */
+    Optional<Tag> findByNaturalId(String name);
+}
@@ -0,0 +1,21 @@
+package com.app.blog.repository;
+
+import com.app.blog.model.Tag;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+class TagNaturalIdRepositoryImpl implements TagNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    TagNaturalIdRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Tag> findByNaturalId(String name) {
+        return this.entityManager.unwrap(Session.class).bySimpleNaturalId(Tag.class).loadOptional(name);
+    }
+}
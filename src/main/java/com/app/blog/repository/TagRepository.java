@@ -2,14 +2,49 @@ package com.app.blog.repository;
 
 import com.app.blog.model.BlogPost;
 import com.app.blog.model.Tag;
+import com.app.blog.model.dto.TagDTO;
+import com.app.blog.model.dto.TagStatsDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TagRepository extends JpaRepository<Tag, Long> {
+public interface TagRepository extends JpaRepository<Tag, Long>, TagNaturalIdRepository {
     Optional<Tag> findByName(String name);
+    List<Tag> findByNameIn(Collection<String> names);
     List<Tag> findTagsByBlogPostsContains(BlogPost blogPost);
+
+    @Query("select new com.app.blog.model.dto.TagDTO(t.name) from Tag t")
+    List<TagDTO> findAllNames();
+
+    /**
+     * Post count and last time a post carrying the tag was written, most used tags first. Unused tags
+     * are included with a count of zero.
+     */
+    @Query(value = "select new com.app.blog.model.dto.TagStatsDTO(t.name, count(b), max(b.timeUpdated)) " +
+            "from Tag t left join t.blogPosts b group by t.id, t.name order by count(b) desc, t.name",
+            countQuery = "select count(t) from Tag t")
+    Page<TagStatsDTO> findStats(Pageable pageable);
+
+    @Query("select t.version from Tag t where t.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Summary that changes whenever a tag is created (count and max id grow), renamed (a version grows)
+     * or deleted (count drops).
+     */
+    @Query("select count(t) as count, coalesce(max(t.id), 0) as maxId, coalesce(sum(t.version), 0) as versionSum from Tag t")
+    TagsVersion findTagsVersion();
+
+    interface TagsVersion {
+        long getCount();
+        long getMaxId();
+        long getVersionSum();
+    }
 }
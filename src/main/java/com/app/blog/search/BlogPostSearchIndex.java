@@ -0,0 +1,271 @@
+package com.app.blog.search;
+
+import com.app.blog.model.dto.BlogPostDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over blog post titles and texts, with one more posting list per tag for
+ * filtering. Queries match posts containing every query term and rank them with BM25.
+ * <p>
+ * Changes made inside a transaction are applied once it commits, so a rolled back write never
+ * shows up in search results.
+ */
+@Component
+public class BlogPostSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<String, Postings> tags = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public void index(Long id, BlogPostDTO blogPostDTO) {
+        afterCommit(() -> put(id, blogPostDTO.getTitle(), blogPostDTO.getText(), blogPostDTO.getTags()));
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> {
+            this.lock.writeLock().lock();
+            try {
+                delete(id);
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void renameTag(String oldName, String newName) {
+        afterCommit(() -> {
+            this.lock.writeLock().lock();
+            try {
+                String oldKey = normalize(oldName);
+                String newKey = normalize(newName);
+                Postings postings = this.tags.remove(oldKey);
+                if (postings == null || oldKey.equals(newKey)) {
+                    if (postings != null) {
+                        this.tags.put(oldKey, postings);
+                    }
+                    return;
+                }
+                Postings target = this.tags.computeIfAbsent(newKey, Postings::new);
+                for (int i = 0; i < postings.size(); i++) {
+                    long id = postings.id(i);
+                    target.put(id, 1, 0);
+                    List<String> documentTags = this.documents.get(id).tags();
+                    documentTags.remove(oldKey);
+                    if (!documentTags.contains(newKey)) {
+                        documentTags.add(newKey);
+                    }
+                }
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removeTag(String name) {
+        afterCommit(() -> {
+            this.lock.writeLock().lock();
+            try {
+                String key = normalize(name);
+                Postings postings = this.tags.remove(key);
+                if (postings != null) {
+                    for (int i = 0; i < postings.size(); i++) {
+                        this.documents.get(postings.id(i)).tags().remove(key);
+                    }
+                }
+            } finally {
+                this.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.documents.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, Collection<String> tagFilter, long offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+        this.lock.readLock().lock();
+        try {
+            List<Postings> termPostings = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Postings postings = this.terms.get(term);
+                if (postings == null) {
+                    return new SearchResult(List.of(), 0);
+                }
+                termPostings.add(postings);
+            }
+            List<Postings> tagPostings = new ArrayList<>();
+            if (tagFilter != null) {
+                for (String tag : tagFilter) {
+                    Postings postings = this.tags.get(normalize(tag));
+                    if (postings == null) {
+                        return new SearchResult(List.of(), 0);
+                    }
+                    tagPostings.add(postings);
+                }
+            }
+            return rank(termPostings, tagPostings, offset, limit);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    void put(Long id, String title, String text, Collection<String> tagNames) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        List<String> tokens = tokenize(title);
+        tokens.addAll(tokenize(text));
+        tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        List<String> documentTags = new ArrayList<>();
+        if (tagNames != null) {
+            tagNames.stream().map(BlogPostSearchIndex::normalize).distinct().forEach(documentTags::add);
+        }
+        this.lock.writeLock().lock();
+        try {
+            delete(id);
+            Postings[] postings = new Postings[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                postings[i] = this.terms.computeIfAbsent(frequency.getKey(), Postings::new);
+                postings[i++].put(id, frequency.getValue(), tokens.size());
+            }
+            documentTags.forEach(tag -> this.tags.computeIfAbsent(tag, Postings::new).put(id, 1, 0));
+            this.documents.put(id, new Document(postings, tokens.size(), documentTags));
+            this.totalLength += tokens.size();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private void delete(Long id) {
+        Document document = this.documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (Postings postings : document.postings()) {
+            postings.remove(id);
+            if (postings.size() == 0) {
+                this.terms.remove(postings.key());
+            }
+        }
+        for (String tag : document.tags()) {
+            Postings postings = this.tags.get(tag);
+            postings.remove(id);
+            if (postings.size() == 0) {
+                this.tags.remove(tag);
+            }
+        }
+        this.totalLength -= document.length();
+    }
+
+    private SearchResult rank(List<Postings> termPostings, List<Postings> tagPostings, long offset, int limit) {
+        List<Postings> required = new ArrayList<>(termPostings);
+        required.addAll(tagPostings);
+        required.sort(Comparator.comparingInt(Postings::size));
+        Postings smallest = required.getFirst();
+        Postings firstTerm = termPostings.getFirst();
+
+        int documentCount = this.documents.size();
+        double averageLength = (double) this.totalLength / documentCount;
+        double[] idf = new double[termPostings.size()];
+        for (int t = 0; t < idf.length; t++) {
+            int df = termPostings.get(t).size();
+            idf[t] = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        }
+
+        // no more hits than candidates: a page past the end only counts them, and a deep page never
+        // sizes the heap beyond the smallest posting list
+        int candidateCount = smallest.size();
+        int keep = offset >= candidateCount || limit <= 0 ? 0 : (int) Math.min(offset + limit, candidateCount);
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.max(keep, 1), Hit.ORDER);
+        long totalHits = 0;
+        candidates:
+        for (int i = 0; i < candidateCount; i++) {
+            long id = smallest.id(i);
+            for (Postings postings : required) {
+                if (postings != smallest && postings.indexOf(id) < 0) {
+                    continue candidates;
+                }
+            }
+            totalHits++;
+            if (keep == 0) {
+                continue;
+            }
+            int length = firstTerm == smallest ? firstTerm.length(i) : firstTerm.length(firstTerm.indexOf(id));
+            double lengthNorm = K1 * (1 - B + B * length / averageLength);
+            double score = 0;
+            for (int t = 0; t < idf.length; t++) {
+                Postings postings = termPostings.get(t);
+                int frequency = postings.frequency(postings == smallest ? i : postings.indexOf(id));
+                score += idf[t] * frequency * (K1 + 1) / (frequency + lengthNorm);
+            }
+            if (best.size() < keep) {
+                best.add(new Hit(id, score));
+            } else if (score > best.peek().score() || (score == best.peek().score() && id > best.peek().id())) {
+                best.poll();
+                best.add(new Hit(id, score));
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Hit.ORDER.reversed());
+        List<Long> ids = hits.stream().skip(offset).map(Hit::id).toList();
+        return new SearchResult(ids, totalHits);
+    }
+
+    static List<String> tokenize(String value) {
+        List<String> tokens = new ArrayList<>();
+        if (value == null) {
+            return tokens;
+        }
+        for (String token : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String tag) {
+        return tag.toLowerCase(Locale.ROOT);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private record Document(Postings[] postings, int length, List<String> tags) {
+    }
+
+    // lowest score first, ties go to the older post, so the heap evicts them first
+    private record Hit(long id, double score) {
+        static final Comparator<Hit> ORDER = Comparator.comparingDouble(Hit::score).thenComparingLong(Hit::id);
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.blog.search;
+
+import com.app.blog.model.BlogPost;
+import com.app.blog.model.Tag;
+import com.app.blog.repository.BlogPostRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Fills the search index from the database once all beans exist, before the web server starts
+ * taking requests. From then on the services keep it in sync.
+ */
+@Component
+public class BlogPostSearchIndexLoader implements SmartInitializingSingleton {
+
+    private final BlogPostSearchIndex searchIndex;
+    private final BlogPostRepository blogPostRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Logger logger = LoggerFactory.getLogger(BlogPostSearchIndexLoader.class);
+
+    public BlogPostSearchIndexLoader(BlogPostSearchIndex searchIndex, BlogPostRepository blogPostRepository,
+                                     EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.searchIndex = searchIndex;
+        this.blogPostRepository = blogPostRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        logger.trace("BlogPostSearchIndexLoader - afterSingletonsInstantiated");
+        long start = System.nanoTime();
+        this.transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<BlogPost> blogPosts = this.blogPostRepository.streamAllBy()) {
+                int indexed = 0;
+                for (BlogPost blogPost : (Iterable<BlogPost>) blogPosts::iterator) {
+                    this.searchIndex.put(blogPost.getId(), blogPost.getTitle(), blogPost.getText(),
+                            blogPost.getTags().stream().map(Tag::getName).toList());
+                    if (++indexed % BlogPostRepository.STREAM_FETCH_SIZE == 0) {
+                        this.entityManager.clear();
+                    }
+                }
+            }
+        });
+        logger.info("Search index built with {} blog posts in {} ms",
+                this.searchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.blog.search;
+
+import java.util.Arrays;
+
+/**
+ * Posting list of one term: the ids of the posts containing it, kept sorted so lists can be
+ * intersected with binary searches, with the term frequency and length of every post next to it
+ * so ranking never has to look a post up.
+ */
+final class Postings {
+
+    private final String key;
+    private long[] ids = new long[4];
+    private int[] frequencies = new int[4];
+    private int[] lengths = new int[4];
+    private int size;
+
+    Postings(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return this.key;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    long id(int index) {
+        return this.ids[index];
+    }
+
+    int frequency(int index) {
+        return this.frequencies[index];
+    }
+
+    int length(int index) {
+        return this.lengths[index];
+    }
+
+    int indexOf(long id) {
+        return Arrays.binarySearch(this.ids, 0, this.size, id);
+    }
+
+    void put(long id, int frequency, int length) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            this.frequencies[index] = frequency;
+            this.lengths[index] = length;
+            return;
+        }
+        index = -index - 1;
+        if (this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            this.frequencies = Arrays.copyOf(this.frequencies, this.size * 2);
+            this.lengths = Arrays.copyOf(this.lengths, this.size * 2);
+        }
+        // posts are mostly indexed in id order, so this is usually an append
+        System.arraycopy(this.ids, index, this.ids, index + 1, this.size - index);
+        System.arraycopy(this.frequencies, index, this.frequencies, index + 1, this.size - index);
+        System.arraycopy(this.lengths, index, this.lengths, index + 1, this.size - index);
+        this.ids[index] = id;
+        this.frequencies[index] = frequency;
+        this.lengths[index] = length;
+        this.size++;
+    }
+
+    void remove(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+        System.arraycopy(this.frequencies, index + 1, this.frequencies, index, this.size - index - 1);
+        System.arraycopy(this.lengths, index + 1, this.lengths, index, this.size - index - 1);
+        this.size--;
+    }
+}
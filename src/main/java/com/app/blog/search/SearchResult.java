@@ -0,0 +1,9 @@
+package com.app.blog.search;
+
+import java.util.List;
+
+/**
+ * One page of post ids, best match first, and the number of posts matching the query overall.
+ */
+public record SearchResult(List<Long> ids, long totalHits) {
+}
@@ -0,0 +1,50 @@
+package com.app.blog.serialization;
+
+import com.app.blog.model.dto.BlogPostDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a blog post straight to the generator: no bean property lookups, and the tag names go out as a
+ * plain array without a collection serializer per post. The output is the same as the default bean
+ * serialization, field order included.
+ */
+@JsonComponent
+public class BlogPostDTOSerializer extends StdSerializer<BlogPostDTO> {
+
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString TEXT = new SerializedString("text");
+    private static final SerializableString TAGS = new SerializedString("tags");
+
+    public BlogPostDTOSerializer() {
+        super(BlogPostDTO.class);
+    }
+
+    @Override
+    public void serialize(BlogPostDTO blogPostDTO, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(blogPostDTO);
+        generator.writeFieldName(TITLE);
+        generator.writeString(blogPostDTO.getTitle());
+        generator.writeFieldName(TEXT);
+        generator.writeString(blogPostDTO.getText());
+        generator.writeFieldName(TAGS);
+        List<String> tags = blogPostDTO.getTags();
+        if (tags == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray(tags, tags.size());
+            for (String tag : tags) {
+                generator.writeString(tag);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,19 @@
+package com.app.blog.serialization;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfiguration {
+
+    /**
+     * Replaces reflective getter and setter calls with generated lambdas for every bean (de)serializer;
+     * Spring Boot registers any {@link Module} bean with the application's {@code ObjectMapper}.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
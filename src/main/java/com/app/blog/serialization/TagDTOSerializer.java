@@ -0,0 +1,32 @@
+package com.app.blog.serialization;
+
+import com.app.blog.model.dto.TagDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * {@code GET /tags} returns every tag, one object each, so the per-object overhead of the bean serializer adds up.
+ */
+@JsonComponent
+public class TagDTOSerializer extends StdSerializer<TagDTO> {
+
+    private static final SerializableString NAME = new SerializedString("name");
+
+    public TagDTOSerializer() {
+        super(TagDTO.class);
+    }
+
+    @Override
+    public void serialize(TagDTO tagDTO, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(tagDTO);
+        generator.writeFieldName(NAME);
+        generator.writeString(tagDTO.getName());
+        generator.writeEndObject();
+    }
+}
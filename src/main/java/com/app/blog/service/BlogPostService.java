@@ -1,16 +1,28 @@
 package com.app.blog.service;
 
 import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
+import com.app.blog.model.dto.BlogPostSearchPageDTO;
+import com.app.blog.model.dto.BulkResultDTO;
+
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BlogPostService {
-    List<BlogPostDTO> findAll();
+    BlogPostPageDTO findAll(String tagName, String tags, Integer minTags, String cursor, Integer limit);
+    BlogPostSearchPageDTO search(String query, List<String> tags, Integer page, Integer size);
     BlogPostDTO findById(Long id);
+    Long findVersionById(Long id);
     BlogPostDTO create(BlogPostDTO blogPostDTO);
+    BulkResultDTO createAll(Iterator<BlogPostDTO> blogPostDTOs);
     BlogPostDTO update(Long id, BlogPostDTO blogPostDTO);
     BlogPostDTO patch(Long id, BlogPostDTO blogPostDTO);
     BlogPostDTO addTagToBlogPost(Long id, List<String> tags);
     BlogPostDTO removeTagFromBlogPost(Long id, List<String> tags);
+    BlogPostDTO changeTags(Long id, Collection<String> added, Collection<String> removed);
     void deleteById(Long id);
+    void exportAll(Consumer<BlogPostDTO> consumer);
 
 }
@@ -1,11 +1,15 @@
 package com.app.blog.service;
 
 import com.app.blog.model.dto.TagDTO;
+import com.app.blog.model.dto.TagStatsPageDTO;
 import java.util.List;
 
 public interface TagService {
     List<TagDTO> findAll();
     TagDTO findById(Long id);
+    Long findVersionById(Long id);
+    String findAllVersion();
+    TagStatsPageDTO findStats(Integer page, Integer size);
     TagDTO create(TagDTO tagDTO);
     TagDTO update(Long id, TagDTO tagDTO);
     TagDTO findByName(String name);
@@ -0,0 +1,141 @@
+package com.app.blog.service.impl;
+
+import com.app.blog.model.BlogPost;
+import com.app.blog.model.Tag;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BulkItemErrorDTO;
+import com.app.blog.model.dto.BulkResultDTO;
+import com.app.blog.model.mapper.BlogPostMapper;
+import com.app.blog.search.BlogPostSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Inserts a stream of blog posts in chunks. Each chunk resolves the tag names of all its posts with
+ * one {@link TagResolver} call and is persisted in its own transaction, so Hibernate can send the
+ * join rows as JDBC batches; posts take their ids from an identity column and are inserted one by one.
+ * A chunk that fails is replayed post by post to report exactly which items could not be stored.
+ */
+@Component
+public class BlogPostBulkImporter {
+
+    private final TagResolver tagResolver;
+    private final EntityManager entityManager;
+    private final BlogPostSearchIndex searchIndex;
+    private final BlogPostMapper blogPostMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Logger logger = LoggerFactory.getLogger(BlogPostBulkImporter.class);
+
+    public BlogPostBulkImporter(TagResolver tagResolver, EntityManager entityManager,
+                                BlogPostSearchIndex searchIndex, BlogPostMapper blogPostMapper, Validator validator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${blog.bulk.chunk-size:500}") int chunkSize) {
+        this.tagResolver = tagResolver;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.blogPostMapper = blogPostMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkResultDTO importAll(Iterator<BlogPostDTO> blogPosts) {
+        logger.trace("BlogPostBulkImporter - importAll");
+        List<BulkItemErrorDTO> errors = new ArrayList<>();
+        List<Item> chunk = new ArrayList<>(this.chunkSize);
+        int created = 0;
+        int index = 0;
+        while (true) {
+            BlogPostDTO blogPostDTO;
+            try {
+                if (!blogPosts.hasNext()) {
+                    break;
+                }
+                blogPostDTO = blogPosts.next();
+            } catch (RuntimeException e) {
+                logger.error("BlogPostBulkImporter - importAll error - Unreadable item");
+                errors.add(new BulkItemErrorDTO(index, "Unreadable item, import stopped here"));
+                break;
+            }
+            String violations = validate(blogPostDTO);
+            if (violations != null) {
+                errors.add(new BulkItemErrorDTO(index, violations));
+            } else {
+                chunk.add(new Item(index, blogPostDTO));
+            }
+            index++;
+            if (chunk.size() == this.chunkSize) {
+                created += store(chunk, errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            created += store(chunk, errors);
+        }
+        errors.sort(Comparator.comparingInt(BulkItemErrorDTO::getIndex));
+        return new BulkResultDTO(created, errors);
+    }
+
+    private String validate(BlogPostDTO blogPostDTO) {
+        Set<ConstraintViolation<BlogPostDTO>> violations = this.validator.validate(blogPostDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining(", "));
+    }
+
+    private int store(List<Item> chunk, List<BulkItemErrorDTO> errors) {
+        try {
+            return this.transactionTemplate.execute(status -> insert(chunk));
+        } catch (RuntimeException e) {
+            logger.error("BlogPostBulkImporter - store error - chunk failed, retrying item by item");
+        }
+        int created = 0;
+        for (Item item : chunk) {
+            try {
+                created += this.transactionTemplate.execute(status -> insert(List.of(item)));
+            } catch (RuntimeException e) {
+                errors.add(new BulkItemErrorDTO(item.index(), NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+        return created;
+    }
+
+    private int insert(List<Item> chunk) {
+        Map<String, Tag> tags = this.tagResolver.resolveByName(chunk.stream()
+                .flatMap(item -> tagsOf(item.blogPostDTO()).stream())
+                .toList());
+        chunk.forEach(item -> {
+            Set<Tag> blogPostTags = new HashSet<>();
+            tagsOf(item.blogPostDTO()).forEach(name -> blogPostTags.add(tags.get(name)));
+            BlogPost blogPost = this.blogPostMapper.convertToEntity(item.blogPostDTO(), blogPostTags);
+            this.entityManager.persist(blogPost);
+            this.searchIndex.index(blogPost.getId(), item.blogPostDTO());
+        });
+        this.entityManager.flush();
+        this.entityManager.clear();
+        return chunk.size();
+    }
+
+    private static List<String> tagsOf(BlogPostDTO blogPostDTO) {
+        return Objects.requireNonNullElse(blogPostDTO.getTags(), List.of());
+    }
+
+    private record Item(int index, BlogPostDTO blogPostDTO) {
+    }
+}
@@ -1,85 +1,183 @@
 package com.app.blog.service.impl;
 
+import com.app.blog.cache.BlogPostCache;
+import com.app.blog.cache.CachedBlogPost;
+import com.app.blog.datasource.ReadYourWrites;
 import com.app.blog.model.BlogPost;
 import com.app.blog.model.Tag;
 import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
+import com.app.blog.model.dto.BlogPostSearchPageDTO;
+import com.app.blog.model.dto.BulkResultDTO;
 import com.app.blog.model.exception.BlogPostNotFoundException;
-import com.app.blog.model.exception.TagNotFoundException;
 import com.app.blog.model.mapper.BlogPostMapper;
+import com.app.blog.model.pagination.Cursor;
+import com.app.blog.model.specification.TagExpression;
 import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.BlogPostContent;
+import com.app.blog.repository.BlogPostTagLink;
 import com.app.blog.repository.TagRepository;
+import com.app.blog.search.BlogPostSearchIndex;
+import com.app.blog.search.SearchResult;
 import com.app.blog.service.BlogPostService;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static com.app.blog.model.specification.BlogPostSpecifications.*;
+
+@Timed(value = "blog.service", histogram = true)
 @Service
 @Builder(toBuilder = true)
 @RequiredArgsConstructor
 public class BlogPostServiceImplementation implements BlogPostService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
     private final BlogPostRepository blogPostRepository;
     private final TagRepository tagRepository;
+    private final TagResolver tagResolver;
+    private final BlogPostBulkImporter blogPostBulkImporter;
     private final BlogPostMapper blogPostMapper;
+    private final BlogPostCache blogPostCache;
+    private final BlogPostSearchIndex searchIndex;
+    private final EntityManager entityManager;
     private final Logger logger = LoggerFactory.getLogger(BlogPostServiceImplementation.class);
 
+    @Transactional(readOnly = true)
     @Override
-    public List<BlogPostDTO> findAll() {
+    public BlogPostPageDTO findAll(String tagName, String tags, Integer minTags, String cursor, Integer limit) {
         logger.trace("BlogPostService - findAllWithSpecifications");
-        return blogPostRepository.findAll().stream().map(blogPostMapper::convertToDto).toList();
+        int pageSize = (limit == null || limit <= 0) ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        Specification<BlogPost> specification = Specification.where(hasIdGreaterThan(Cursor.decode(cursor)))
+                .and(hasTagName(tagName))
+                .and(matchesTags(TagExpression.parse(tags)))
+                .and(hasTagNumberGreaterOrEqual(minTags));
+        // one extra row tells us whether another page exists without issuing a count query
+        List<BlogPostContent> blogPosts = blogPostRepository.findContentBy(specification, pageSize + 1);
+        boolean hasNext = blogPosts.size() > pageSize;
+        List<BlogPostContent> page = hasNext ? blogPosts.subList(0, pageSize) : blogPosts;
+        // posts and their tags both come as rows, so no entity, tag collection or tag entity is built for the page
+        List<Long> ids = new ArrayList<>(page.size());
+        for (BlogPostContent blogPost : page) {
+            ids.add(blogPost.id());
+        }
+        List<BlogPostTagLink> tagLinks = ids.isEmpty() ? List.of() : blogPostRepository.findTagLinksByIdIn(ids);
+        return new BlogPostPageDTO(blogPostMapper.convertToDtos(page, tagLinks),
+                hasNext ? Cursor.encode(page.getLast().id()) : null);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BlogPostSearchPageDTO search(String query, List<String> tags, Integer page, Integer size) {
+        logger.trace("BlogPostService - search");
+        int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int pageNumber = (page == null || page < 0) ? 0 : page;
+        SearchResult result = this.searchIndex.search(query, tags, (long) pageNumber * pageSize, pageSize);
+        Map<Long, BlogPost> blogPosts = this.blogPostRepository.findWithTagsByIdIn(result.ids()).stream()
+                .collect(Collectors.toMap(BlogPost::getId, Function.identity()));
+        boolean hasNext = (long) (pageNumber + 1) * pageSize < result.totalHits();
+        return BlogPostSearchPageDTO.builder()
+                .content(result.ids().stream()
+                        .map(blogPosts::get)
+                        .filter(Objects::nonNull)
+                        .map(blogPostMapper::convertToDto)
+                        .toList())
+                .totalHits(result.totalHits())
+                .nextPage(hasNext ? pageNumber + 1 : null)
+                .build();
     }
 
+    // not transactional: a cache hit must not check out a connection, the loader runs in the repository's transaction.
+    // The loader reads the primary: a lagging replica would pin a stale post in the cache until it expires.
     @Override
     public BlogPostDTO findById(Long id) {
         logger.trace("BlogPostService - findById");
-        return this.blogPostRepository.findById(id)
-                .map(blogPostMapper::convertToDto)
-                .orElseThrow(() -> {
-                    logger.error("BlogPostService - findById error - Blog Post Not Found");
-                        return new BlogPostNotFoundException();
-                });
+        CachedBlogPost cachedBlogPost = this.blogPostCache.get(id, key -> ReadYourWrites.onPrimary(() -> this.blogPostRepository.findWithTagsById(key)
+                .map(blogPost -> new CachedBlogPost(blogPostMapper.convertToDto(blogPost), blogPost.getVersion()))
+                .orElse(null)));
+        if (cachedBlogPost == null) {
+            logger.error("BlogPostService - findById error - Blog Post Not Found");
+            throw new BlogPostNotFoundException();
+        }
+        return cachedBlogPost.blogPost();
+    }
+
+    // Reads the primary like findById, so the ETag always matches the body findById returns: a version from a
+    // lagging replica would tag a fresh body with an old ETag and answer later If-None-Match with a stale 304.
+    @Override
+    public Long findVersionById(Long id) {
+        logger.trace("BlogPostService - findVersionById");
+        CachedBlogPost cachedBlogPost = this.blogPostCache.getIfPresent(id);
+        if (cachedBlogPost != null) {
+            return cachedBlogPost.version();
+        }
+        return ReadYourWrites.onPrimary(() -> this.blogPostRepository.findVersionById(id)).orElseThrow(() -> {
+            logger.error("BlogPostService - findVersionById error - Blog Post Not Found");
+            return new BlogPostNotFoundException();
+        });
     }
 
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @Override
     public BlogPostDTO create(BlogPostDTO blogPostDTO) {
         logger.trace("BlogPostService - create");
-        BlogPost blogPost = BlogPost.builder().title(blogPostDTO.getTitle()).text(blogPostDTO.getText()).tags(new HashSet<>()).build();
-        blogPostDTO.getTags().forEach(tag -> {
-            Tag foundTag = this.tagRepository.findByName(tag).orElse(Tag.builder().name(tag).blogPosts(new HashSet<>()).build());
-            blogPost.getTags().add(foundTag);
-            foundTag.getBlogPosts().add(blogPost);
-        });
+        BlogPost blogPost = blogPostMapper.convertToEntity(blogPostDTO, this.tagResolver.resolve(blogPostDTO.getTags()));
         this.blogPostRepository.save(blogPost);
-        return blogPostMapper.convertToDto(blogPost);
+        BlogPostDTO created = blogPostMapper.convertToDto(blogPost);
+        this.searchIndex.index(blogPost.getId(), created);
+        return created;
+    }
+
+    // not transactional: every chunk is committed on its own
+    @Override
+    public BulkResultDTO createAll(Iterator<BlogPostDTO> blogPostDTOs) {
+        logger.trace("BlogPostService - createAll");
+        return this.blogPostBulkImporter.importAll(blogPostDTOs);
     }
 
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @Override
     public BlogPostDTO update(Long id, BlogPostDTO blogPostDTO) {
         logger.trace("BlogPostService - update");
-        BlogPost blogPost = this.blogPostRepository.findById(id).orElseThrow(() -> {
+        BlogPost blogPost = this.blogPostRepository.findWithTagsById(id).orElseThrow(() -> {
             logger.error("BlogPostService - update error - Blog Post Not Found");
             return new BlogPostNotFoundException();
         });
         blogPost.setTitle(blogPostDTO.getTitle());
         blogPost.setText(blogPostDTO.getText());
-        blogPostDTO.getTags().forEach(tag -> {
-            Tag foundTag = this.tagRepository.findByName(tag).orElse(Tag.builder().name(tag).blogPosts(new HashSet<>()).build());
-            blogPost.getTags().add(foundTag);
-            foundTag.getBlogPosts().add(blogPost);
-        });
+        blogPost.getTags().addAll(this.tagResolver.resolve(blogPostDTO.getTags()));
+        blogPost.touch();
         this.blogPostRepository.save(blogPost);
-        return blogPostMapper.convertToDto(blogPost);
+        this.blogPostCache.invalidate(id);
+        BlogPostDTO updated = blogPostMapper.convertToDto(blogPost);
+        this.searchIndex.index(id, updated);
+        return updated;
     }
 
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @Override
     public BlogPostDTO patch(Long id, BlogPostDTO blogPostDTO) {
         logger.trace("BlogPostService - patch");
-        BlogPost blogPost = this.blogPostRepository.findById(id).orElseThrow(() -> {
+        BlogPost blogPost = this.blogPostRepository.findWithTagsById(id).orElseThrow(() -> {
             logger.error("BlogPostService - patch error - Blog Post Not Found");
             return new BlogPostNotFoundException();
         });
@@ -90,53 +188,78 @@ public class BlogPostServiceImplementation implements BlogPostService {
             blogPost.setText(blogPostDTO.getText());
         }
         if(blogPostDTO.getTags() != null && !blogPostDTO.getTags().isEmpty()) {
-            blogPostDTO.getTags().forEach(tag -> {
-                Tag foundTag = this.tagRepository.findByName(tag).orElse(Tag.builder().name(tag).blogPosts(new HashSet<>()).build());
-                blogPost.getTags().add(foundTag);
-                foundTag.getBlogPosts().add(blogPost);
-            });
+            blogPost.getTags().addAll(this.tagResolver.resolve(blogPostDTO.getTags()));
+            blogPost.touch();
         }
         this.blogPostRepository.save(blogPost);
-        return blogPostMapper.convertToDto(blogPost);
+        this.blogPostCache.invalidate(id);
+        BlogPostDTO updated = blogPostMapper.convertToDto(blogPost);
+        this.searchIndex.index(id, updated);
+        return updated;
     }
 
-    @Transactional
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     @Override
     public BlogPostDTO addTagToBlogPost(Long id, List<String> tags) {
         logger.trace("BlogPostService - addTagToBlogPost");
-        BlogPost blogPost = this.blogPostRepository.findById(id).orElseThrow(() -> {
+        BlogPost blogPost = this.blogPostRepository.findWithTagsById(id).orElseThrow(() -> {
             logger.error("BlogPostService - addTagToBlogPost error - Blog Post Not Found");
             return new BlogPostNotFoundException();
         });
-        tags.forEach(tag -> {
-            Tag foundTag = this.tagRepository.findByName(tag).orElse(Tag.builder().name(tag).blogPosts(new HashSet<>()).build());
-            blogPost.getTags().add(foundTag);
-            foundTag.getBlogPosts().add(blogPost);
-        });
+        blogPost.getTags().addAll(this.tagResolver.resolve(tags));
+        blogPost.touch();
         this.blogPostRepository.save(blogPost);
-        return blogPostMapper.convertToDto(blogPost);
+        this.blogPostCache.invalidate(id);
+        BlogPostDTO updated = blogPostMapper.convertToDto(blogPost);
+        this.searchIndex.index(id, updated);
+        return updated;
     }
 
     @Transactional
     @Override
     public BlogPostDTO removeTagFromBlogPost(Long id, List<String> tags) {
         logger.trace("BlogPostService - removeTagFromBlogPost");
-        BlogPost blogPost = this.blogPostRepository.findById(id).orElseThrow(() -> {
+        BlogPost blogPost = this.blogPostRepository.findWithTagsById(id).orElseThrow(() -> {
             logger.error("BlogPostService - removeTagFromBlogPost error - Blog Post Not Found");
             return new BlogPostNotFoundException();
         });
-        tags.forEach(tag -> {
-            Tag foundTag = this.tagRepository.findByName(tag).orElseThrow(() -> {
-                logger.error("BlogPostService - removeTagFromBlogPost error - Tag Not Found");
-                return new TagNotFoundException();
-            });
-            blogPost.getTags().remove(foundTag);
-            foundTag.getBlogPosts().remove(blogPost);
+        // through the mapped collection, so only this post's entry in the tag collection cache is invalidated
+        Set<Long> tagIds = this.tagResolver.findExistingIds(tags);
+        blogPost.getTags().removeIf(tag -> tagIds.contains(tag.getId()));
+        blogPost.touch();
+        this.blogPostRepository.save(blogPost);
+        this.blogPostCache.invalidate(id);
+        BlogPostDTO updated = blogPostMapper.convertToDto(blogPost);
+        this.searchIndex.index(id, updated);
+        return updated;
+    }
+
+    // applies a coalesced batch of tag changes; removing a tag that does not exist is a no-op here,
+    // since an add and a later remove of a new tag collapse into just the remove
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Override
+    public BlogPostDTO changeTags(Long id, Collection<String> added, Collection<String> removed) {
+        logger.trace("BlogPostService - changeTags");
+        BlogPost blogPost = this.blogPostRepository.findWithTagsById(id).orElseThrow(() -> {
+            logger.error("BlogPostService - changeTags error - Blog Post Not Found");
+            return new BlogPostNotFoundException();
         });
+        if (!added.isEmpty()) {
+            blogPost.getTags().addAll(this.tagResolver.resolve(added));
+        }
+        if (!removed.isEmpty()) {
+            Set<Long> tagIds = this.tagResolver.findIdsSkippingMissing(removed);
+            blogPost.getTags().removeIf(tag -> tagIds.contains(tag.getId()));
+        }
+        blogPost.touch();
         this.blogPostRepository.save(blogPost);
-        return blogPostMapper.convertToDto(blogPost);
+        this.blogPostCache.invalidate(id);
+        BlogPostDTO updated = blogPostMapper.convertToDto(blogPost);
+        this.searchIndex.index(id, updated);
+        return updated;
     }
 
+    @Transactional
     @Override
     public void deleteById(Long id) {
         logger.trace("BlogPostService - deleteById");
@@ -144,7 +267,25 @@ public class BlogPostServiceImplementation implements BlogPostService {
             logger.error("BlogPostService - deleteById error - Blog Post Not Found");
             return new BlogPostNotFoundException();
         });
-        this.tagRepository.findTagsByBlogPostsContains(blogToBeDeleted).forEach(tag -> tag.getBlogPosts().remove(blogToBeDeleted));
-        this.blogPostRepository.deleteById(id);
+        // the post owns the join table, so removing it deletes its tag links in one statement
+        this.blogPostRepository.delete(blogToBeDeleted);
+        this.blogPostCache.invalidate(id);
+        this.searchIndex.remove(id);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAll(Consumer<BlogPostDTO> consumer) {
+        logger.trace("BlogPostService - exportAll");
+        try (Stream<BlogPost> blogPosts = this.blogPostRepository.streamAllBy()) {
+            int exported = 0;
+            for (BlogPost blogPost : (Iterable<BlogPost>) blogPosts::iterator) {
+                consumer.accept(blogPostMapper.convertToDto(blogPost));
+                // detach what has already been written so the persistence context does not grow with the table
+                if (++exported % BlogPostRepository.STREAM_FETCH_SIZE == 0) {
+                    this.entityManager.clear();
+                }
+            }
+        }
     }
 }
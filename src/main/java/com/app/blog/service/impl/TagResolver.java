@@ -0,0 +1,191 @@
+package com.app.blog.service.impl;
+
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.model.Tag;
+import com.app.blog.model.exception.TagNotFoundException;
+import com.app.blog.repository.TagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Turns a list of tag names into managed {@link Tag} entities with a constant number of statements.
+ * Names found in the {@link TagNameCache} become references without a query; the rest are read with
+ * one {@code WHERE name IN (...)} lookup and, for names that do not exist yet, one batched insert
+ * followed by a second lookup.
+ * <p>
+ * Missing tags are inserted in the caller's transaction, so a write never holds a second pooled
+ * connection. They are inserted in name order, which keeps two writes creating overlapping tags from
+ * locking the unique index on {@code name} in opposite orders. If a concurrent request created the
+ * same tag first, the insert waits for it to commit, the duplicate is ignored (MySQL and H2 only roll
+ * back the failing statement) and the existing row is picked up by the second lookup. Callers must
+ * run with {@code READ_COMMITTED} isolation so that lookup can see rows committed by others. Ids of
+ * tags the transaction inserted reach the {@link TagNameCache} only after it commits, so a rollback
+ * cannot leave the cache pointing at a row that was never committed.
+ */
+@Component
+public class TagResolver {
+    static final String INSERT_TAG = "insert into tag (name, time_created, version) values (?, ?, 0)";
+
+    private final TagRepository tagRepository;
+    private final TagNameCache tagNameCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final Logger logger = LoggerFactory.getLogger(TagResolver.class);
+
+    public TagResolver(TagRepository tagRepository, TagNameCache tagNameCache, JdbcTemplate jdbcTemplate) {
+        this.tagRepository = tagRepository;
+        this.tagNameCache = tagNameCache;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Set<Tag> resolve(Collection<String> names) {
+        return new HashSet<>(resolveByName(names).values());
+    }
+
+    /**
+     * Same as {@link #resolve} but keeps track of which requested name each tag was resolved for.
+     */
+    public Map<String, Tag> resolveByName(Collection<String> names) {
+        logger.trace("TagResolver - resolve");
+        Set<String> distinctNames = new LinkedHashSet<>(names);
+        if (distinctNames.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<String, Long> ids = findIds(distinctNames);
+        List<String> missing = distinctNames.stream().filter(name -> !ids.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            insertMissing(missing);
+            ids.putAll(lookup(missing));
+        }
+        Map<String, Tag> tags = new HashMap<>();
+        distinctNames.forEach(name -> {
+            Long id = ids.containsKey(name) ? ids.get(name) : findIgnoringCase(ids, name);
+            if (id != null) {
+                tags.put(name, this.tagRepository.getReferenceById(id));
+            }
+        });
+        return tags;
+    }
+
+    public Set<Long> findExistingIds(Collection<String> names) {
+        logger.trace("TagResolver - findExistingIds");
+        Set<String> distinctNames = new LinkedHashSet<>(names);
+        Map<String, Long> ids = findIds(distinctNames);
+        if (ids.size() < distinctNames.size()) {
+            logger.error("TagResolver - findExistingIds error - Tag Not Found");
+            throw new TagNotFoundException();
+        }
+        return new HashSet<>(ids.values());
+    }
+
+    /**
+     * Same as {@link #findExistingIds} but skips names that do not exist instead of failing.
+     */
+    public Set<Long> findIdsSkippingMissing(Collection<String> names) {
+        logger.trace("TagResolver - findIdsSkippingMissing");
+        return new HashSet<>(findIds(new LinkedHashSet<>(names)).values());
+    }
+
+    // a case-insensitive collation (MySQL's default) can answer a lookup for "java" with the row "Java"
+    private static Long findIgnoringCase(Map<String, Long> ids, String name) {
+        return ids.entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(name))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private Map<String, Long> findIds(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>(this.tagNameCache.getAllPresent(names));
+        List<String> misses = names.stream().filter(name -> !ids.containsKey(name)).toList();
+        if (!misses.isEmpty()) {
+            ids.putAll(lookup(misses));
+        }
+        return ids;
+    }
+
+    private Map<String, Long> lookup(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        this.tagRepository.findByNameIn(names).forEach(tag -> ids.put(tag.getName(), tag.getId()));
+        Map<String, Long> uncommitted = uncommitted();
+        if (uncommitted == null) {
+            this.tagNameCache.putAll(ids);
+            return ids;
+        }
+        // a tag this transaction inserted must not reach the cache before the row is committed
+        Map<String, Long> committed = new HashMap<>();
+        ids.forEach((name, id) -> (uncommitted.containsKey(name) ? uncommitted : committed).put(name, id));
+        this.tagNameCache.putAll(committed);
+        return ids;
+    }
+
+    private void insertMissing(List<String> names) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<String> sorted = names.stream().sorted().toList();
+        List<String> inserted = new ArrayList<>(sorted.size());
+        try {
+            this.jdbcTemplate.batchUpdate(INSERT_TAG, sorted, sorted.size(), (ps, name) -> {
+                ps.setString(1, name);
+                ps.setTimestamp(2, now);
+            });
+            inserted.addAll(sorted);
+        } catch (DuplicateKeyException e) {
+            // another request created some of these tags first; insert the rest one by one
+            logger.debug("TagResolver - insertMissing - concurrent tag creation, retrying row by row");
+            sorted.forEach(name -> {
+                try {
+                    this.jdbcTemplate.update(INSERT_TAG, name, now);
+                    inserted.add(name);
+                } catch (DuplicateKeyException ignored) {
+                    // already there, picked up by the next lookup
+                }
+            });
+        }
+        Map<String, Long> uncommitted = uncommitted();
+        if (uncommitted != null) {
+            inserted.forEach(name -> uncommitted.put(name, null));
+        }
+    }
+
+    /**
+     * Tags inserted by the current transaction, name to id once looked up; their ids are cached after it
+     * commits and dropped if it rolls back. {@code null} outside a transaction, where inserts auto-commit.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> uncommitted() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<String, Long> uncommitted = (Map<String, Long>) TransactionSynchronizationManager.getResource(this);
+        if (uncommitted == null) {
+            Map<String, Long> inserted = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, inserted);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    Map<String, Long> ids = new HashMap<>();
+                    inserted.forEach((name, id) -> {
+                        if (id != null) {
+                            ids.put(name, id);
+                        }
+                    });
+                    tagNameCache.putAll(ids);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TagResolver.this);
+                }
+            });
+            uncommitted = inserted;
+        }
+        return uncommitted;
+    }
+}
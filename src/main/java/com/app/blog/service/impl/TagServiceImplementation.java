@@ -1,64 +1,116 @@
 package com.app.blog.service.impl;
 
+import com.app.blog.cache.BlogPostCache;
+import com.app.blog.cache.TagNameCache;
 import com.app.blog.model.Tag;
 import com.app.blog.model.dto.TagDTO;
+import com.app.blog.model.dto.TagStatsDTO;
+import com.app.blog.model.dto.TagStatsPageDTO;
 import com.app.blog.model.exception.TagAlreadyExistsException;
 import com.app.blog.model.exception.TagNotFoundException;
+import com.app.blog.model.mapper.TagMapper;
 import com.app.blog.repository.BlogPostRepository;
 import com.app.blog.repository.TagRepository;
+import com.app.blog.search.BlogPostSearchIndex;
 import com.app.blog.service.TagService;
+import io.micrometer.core.annotation.Timed;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+@Timed(value = "blog.service", histogram = true)
 @Service
 @Builder(toBuilder = true)
 @RequiredArgsConstructor
 public class TagServiceImplementation implements TagService {
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
     private final TagRepository tagRepository;
     private final BlogPostRepository blogPostRepository;
+    private final TagNameCache tagNameCache;
+    private final TagMapper tagMapper;
+    private final BlogPostCache blogPostCache;
+    private final BlogPostSearchIndex searchIndex;
     private final Logger logger = LoggerFactory.getLogger(TagServiceImplementation.class);
 
+    @Transactional(readOnly = true)
     @Override
     public List<TagDTO> findAll() {
         logger.trace("TagService - findAll");
-        return tagRepository.findAll().stream()
-                .map(tag -> TagDTO.builder().name(tag.getName()).build())
-                .toList();
+        return tagRepository.findAllNames();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public TagDTO findById(Long id) {
         logger.trace("TagService - findById");
-        return tagRepository.findById(id).map(tag -> TagDTO.builder().name(tag.getName()).build())
+        return tagRepository.findById(id).map(tagMapper::convertToDto)
                 .orElseThrow(() -> {
                     logger.error("TagService - findById error - Tag Not Found");
                     return new TagNotFoundException();
                 });
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Long findVersionById(Long id) {
+        logger.trace("TagService - findVersionById");
+        return tagRepository.findVersionById(id).orElseThrow(() -> {
+            logger.error("TagService - findVersionById error - Tag Not Found");
+            return new TagNotFoundException();
+        });
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public String findAllVersion() {
+        logger.trace("TagService - findAllVersion");
+        TagRepository.TagsVersion version = tagRepository.findTagsVersion();
+        return version.getCount() + "-" + version.getMaxId() + "-" + version.getVersionSum();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public TagStatsPageDTO findStats(Integer page, Integer size) {
+        logger.trace("TagService - findStats");
+        int pageSize = (size == null || size <= 0) ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int pageNumber = (page == null || page < 0) ? 0 : page;
+        Page<TagStatsDTO> stats = tagRepository.findStats(PageRequest.of(pageNumber, pageSize));
+        return TagStatsPageDTO.builder()
+                .content(stats.getContent())
+                .totalElements(stats.getTotalElements())
+                .nextPage(stats.hasNext() ? pageNumber + 1 : null)
+                .build();
+    }
+
+    @Transactional
     @Override
     public TagDTO create(TagDTO tagDTO) {
         logger.trace("TagService - create");
-        if(tagRepository.findByName(tagDTO.getName()).isPresent())
+        if(tagNameCache.getIfPresent(tagDTO.getName()) != null || tagRepository.findByNaturalId(tagDTO.getName()).isPresent())
         {
             logger.error("TagService - create error - Tag Already Exists");
             throw new TagAlreadyExistsException();
         }
-        Tag tag = Tag.builder().name(tagDTO.getName()).build();
+        Tag tag = tagMapper.convertToEntity(tagDTO);
         tagRepository.save(tag);
+        tagNameCache.invalidate(tag.getName());
         return tagDTO;
     }
 
+    @Transactional
     @Override
     public TagDTO update(Long id, TagDTO tagDTO) {
 
         logger.trace("TagService - update");
-        if (tagRepository.findByName(tagDTO.getName()).isPresent()) {
+        if (tagRepository.findByNaturalId(tagDTO.getName()).isPresent()) {
             logger.error("TagService - update error - Tag Already Exists");
             throw new TagAlreadyExistsException();
         }
@@ -66,21 +118,30 @@ public class TagServiceImplementation implements TagService {
             logger.error("TagService - update error - Tag Not Found");
             return new TagNotFoundException();
         });
+        tagNameCache.invalidate(tag.getName(), tagDTO.getName());
+        invalidateBlogPostsWithTag(id);
+        searchIndex.renameTag(tag.getName(), tagDTO.getName());
+        tag.setName(tagDTO.getName());
         tagRepository.save(tag);
         return tagDTO;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public TagDTO findByName(String name) {
         logger.trace("TagService - findByName");
-        return tagRepository.findByName(name)
-                .map(tag -> TagDTO.builder().name(tag.getName()).build())
+        if (tagNameCache.getIfPresent(name) != null) {
+            return tagMapper.convertToDto(name);
+        }
+        return tagRepository.findByNaturalId(name)
+                .map(tagMapper::convertToDto)
                 .orElseThrow(() -> {
                     logger.error("TagService - findByName error - Tag Not Found");
                     return new TagNotFoundException();
                 });
     }
 
+    @Transactional
     @Override
     public void deleteById(Long id) {
         logger.trace("TagService - deleteById");
@@ -88,7 +149,18 @@ public class TagServiceImplementation implements TagService {
             logger.error("TagService - deleteById error - Tag Not Found");
             return new TagNotFoundException();
         });
-        this.blogPostRepository.findBlogPostByTagsContaining(tagToBeDeleted).forEach(blogPost -> blogPost.getTags().remove(tagToBeDeleted));
-        tagRepository.deleteById(id);
+        tagNameCache.invalidate(tagToBeDeleted.getName());
+        invalidateBlogPostsWithTag(id);
+        searchIndex.removeTag(tagToBeDeleted.getName());
+        blogPostRepository.deleteTagLinksByTagId(id);
+        tagRepository.delete(tagToBeDeleted);
+    }
+
+    // the posts render the tag name, so their version (and with it their ETag) has to move as well;
+    // runs before the links are deleted, which is how it finds the posts
+    private void invalidateBlogPostsWithTag(Long tagId) {
+        if (blogPostRepository.incrementVersionsByTagId(tagId) > 0) {
+            blogPostCache.invalidateAll();
+        }
     }
 }
@@ -0,0 +1,54 @@
+package com.app.blog.writebehind;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tag changes queued for one post. A later command for the same tag replaces the earlier one, so an
+ * add followed by a remove of the same tag leaves a single remove and the net change is applied once.
+ */
+final class PendingTagChanges {
+
+    private final Map<String, Boolean> changes = new LinkedHashMap<>();
+    private final List<String> statusIds = new ArrayList<>();
+
+    void record(Collection<String> tags, boolean add, String statusId) {
+        for (String tag : tags) {
+            this.changes.put(tag, add);
+        }
+        this.statusIds.add(statusId);
+    }
+
+    int size() {
+        return this.changes.size();
+    }
+
+    int commands() {
+        return this.statusIds.size();
+    }
+
+    List<String> statusIds() {
+        return this.statusIds;
+    }
+
+    List<String> added() {
+        return tags(true);
+    }
+
+    List<String> removed() {
+        return tags(false);
+    }
+
+    private List<String> tags(boolean add) {
+        List<String> tags = new ArrayList<>();
+        this.changes.forEach((tag, added) -> {
+            if (added == add) {
+                tags.add(tag);
+            }
+        });
+        return tags;
+    }
+}
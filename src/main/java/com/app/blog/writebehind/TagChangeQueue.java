@@ -0,0 +1,194 @@
+package com.app.blog.writebehind;
+
+import com.app.blog.cache.CallerRunsExecutor;
+import com.app.blog.model.dto.TagChangeStatusDTO;
+import com.app.blog.model.exception.TagChangeNotFoundException;
+import com.app.blog.model.exception.TagChangeQueueFullException;
+import com.app.blog.service.BlogPostService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind for {@code POST/DELETE /blogs/{id}/tags}, enabled with {@code blog.write-behind.enabled}.
+ * <p>
+ * Commands are queued per post and coalesced, then applied with one transaction per post every
+ * {@code flush-interval}, or right away once a post has {@code max-batch-size} pending tags. Callers get
+ * a status handle that turns {@code APPLIED} or {@code FAILED} after the flush. At most
+ * {@code max-pending} commands wait at any time; beyond that callers are turned away until the flusher
+ * catches up. Statuses are kept for {@code status-retention}, but no more than {@code max-statuses} of them
+ * (never fewer than {@code max-pending}), so a burst of changes cannot grow the heap without bound.
+ * On shutdown the queue stops accepting commands after the web server has stopped and
+ * flushes everything that is still pending before the data source closes.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.write-behind.enabled", havingValue = "true")
+public class TagChangeQueue implements SmartLifecycle {
+
+    private final BlogPostService blogPostService;
+    private final Duration flushInterval;
+    private final int maxBatchSize;
+    private final int maxPending;
+    private final Map<Long, PendingTagChanges> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCommands = new AtomicInteger();
+    private final Cache<String, TagChangeStatusDTO> statuses;
+    // a single thread, so the batches of one post are always applied in order
+    private ScheduledExecutorService flusher;
+    // enqueueing holds the read lock, stopping takes the write lock so no command slips past the final flush
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private volatile boolean running;
+    private final Logger logger = LoggerFactory.getLogger(TagChangeQueue.class);
+
+    public TagChangeQueue(BlogPostService blogPostService,
+                          @Value("${blog.write-behind.flush-interval:200ms}") Duration flushInterval,
+                          @Value("${blog.write-behind.max-batch-size:100}") int maxBatchSize,
+                          @Value("${blog.write-behind.max-pending:10000}") int maxPending,
+                          @Value("${blog.write-behind.status-retention:10m}") Duration statusRetention,
+                          @Value("${blog.write-behind.max-statuses:100000}") long maxStatuses,
+                          MeterRegistry meterRegistry) {
+        this.blogPostService = blogPostService;
+        this.flushInterval = flushInterval;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPending = maxPending;
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusRetention)
+                // never below max-pending, so the bound alone can always hold every status still pending
+                .maximumSize(Math.max(maxStatuses, maxPending))
+                .executor(CallerRunsExecutor.INSTANCE)
+                .build();
+        Gauge.builder("blog.write-behind.pending", this.pendingCommands, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public TagChangeStatusDTO add(Long blogPostId, List<String> tags) {
+        return enqueue(blogPostId, tags, true);
+    }
+
+    public TagChangeStatusDTO remove(Long blogPostId, List<String> tags) {
+        return enqueue(blogPostId, tags, false);
+    }
+
+    public TagChangeStatusDTO status(String id) {
+        TagChangeStatusDTO status = this.statuses.getIfPresent(id);
+        if (status == null) {
+            logger.error("TagChangeQueue - status error - Tag Change Not Found");
+            throw new TagChangeNotFoundException();
+        }
+        return status;
+    }
+
+    private TagChangeStatusDTO enqueue(Long blogPostId, List<String> tags, boolean add) {
+        this.lifecycleLock.readLock().lock();
+        try {
+            if (!this.running || this.pendingCommands.incrementAndGet() > this.maxPending) {
+                if (this.running) {
+                    this.pendingCommands.decrementAndGet();
+                }
+                logger.error("TagChangeQueue - enqueue error - Queue Full");
+                throw new TagChangeQueueFullException(this.flushInterval);
+            }
+            TagChangeStatusDTO status = new TagChangeStatusDTO(UUID.randomUUID().toString(), blogPostId,
+                    TagChangeStatusDTO.Status.PENDING, null);
+            this.statuses.put(status.getId(), status);
+            int[] size = new int[1];
+            this.pending.compute(blogPostId, (key, changes) -> {
+                PendingTagChanges next = changes != null ? changes : new PendingTagChanges();
+                next.record(tags, add, status.getId());
+                size[0] = next.size();
+                return next;
+            });
+            if (size[0] >= this.maxBatchSize) {
+                this.flusher.execute(() -> flush(blogPostId));
+            }
+            return status;
+        } finally {
+            this.lifecycleLock.readLock().unlock();
+        }
+    }
+
+    void flushAll() {
+        for (Long blogPostId : this.pending.keySet()) {
+            flush(blogPostId);
+        }
+    }
+
+    private void flush(Long blogPostId) {
+        PendingTagChanges changes = this.pending.remove(blogPostId);
+        if (changes == null) {
+            return;
+        }
+        try {
+            this.blogPostService.changeTags(blogPostId, changes.added(), changes.removed());
+            complete(changes, TagChangeStatusDTO.Status.APPLIED, null);
+        } catch (RuntimeException e) {
+            logger.error("TagChangeQueue - flush error - {}", e.getMessage());
+            complete(changes, TagChangeStatusDTO.Status.FAILED, e.getMessage());
+        } finally {
+            this.pendingCommands.addAndGet(-changes.commands());
+        }
+    }
+
+    private void complete(PendingTagChanges changes, TagChangeStatusDTO.Status result, String message) {
+        for (String statusId : changes.statusIds()) {
+            TagChangeStatusDTO status = this.statuses.getIfPresent(statusId);
+            if (status != null) {
+                this.statuses.put(statusId, new TagChangeStatusDTO(statusId, status.getBlogPostId(), result, message));
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("tag-change-flusher").factory());
+        this.running = true;
+        this.flusher.scheduleWithFixedDelay(this::flushAll, this.flushInterval.toMillis(), this.flushInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        this.lifecycleLock.writeLock().lock();
+        try {
+            this.running = false;
+        } finally {
+            this.lifecycleLock.writeLock().unlock();
+        }
+        this.flusher.shutdown();
+        try {
+            this.flusher.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("TagChangeQueue - stop - flushing {} pending tag changes", this.pendingCommands.get());
+        flushAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    // stopped after the web server (lower phases stop later), while the data source is still open
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -1,31 +0,0 @@
-INSERT INTO BLOG_POST (ID, TITLE, TEXT) VALUES (1, 'One', 'Blog About Music');
-INSERT INTO BLOG_POST (ID, TITLE, TEXT) VALUES (2, 'Two', 'Blog Post About Programming');
-INSERT INTO BLOG_POST (ID, TITLE, TEXT) VALUES (3, 'Three', 'Another Music Blog');
-INSERT INTO BLOG_POST (ID, TITLE, TEXT) VALUES (4, 'Four', 'Programming Languages Blog Post');
-
-INSERT INTO TAG (ID, NAME, TIME_CREATED) VALUES (1, 'Songs', '2024-08-07T14:43:47.830+00:00');
-INSERT INTO TAG (ID, NAME, TIME_CREATED) VALUES (2, 'Music', '2024-08-07T14:43:47.830+00:00');
-INSERT INTO TAG (ID, NAME, TIME_CREATED) VALUES (3, 'Album', '2024-08-07T14:43:47.830+00:00');
-INSERT INTO TAG (ID, NAME, TIME_CREATED) VALUES (4, 'Guitar', '2024-08-07T14:43:47.830+00:00');
-
-INSERT INTO TAG (ID, NAME, TIME_CREATED) VALUES (5, 'Java', '2024-08-07T14:43:47.830+00:00');
-INSERT INTO TAG (ID, NAME, TIME_CREATED) VALUES (6, 'C#', '2024-08-07T14:43:47.830+00:00');
-INSERT INTO TAG (ID, NAME, TIME_CREATED) VALUES (7, 'C++', '2024-08-07T14:43:47.830+00:00');
-INSERT INTO TAG (ID, NAME, TIME_CREATED) VALUES (8, 'Python', '2024-08-07T14:43:47.830+00:00');
-
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (1, 1);
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (1, 2);
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (1, 3);
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (1, 4);
-
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (2, 8);
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (2, 5);
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (2, 7);
-
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (3, 3);
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (3, 4);
-
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (4, 5);
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (4, 6);
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (4, 7);
-INSERT INTO BLOG_POST_TAGS (BLOG_POSTS_ID, TAGS_ID) VALUES (4, 8);
\ No newline at end of file
@@ -0,0 +1,29 @@
+create sequence blog_post_seq start with 1 increment by 50;
+
+create table blog_post (
+    id bigint not null,
+    time_updated timestamp(6),
+    version bigint,
+    text varchar(255),
+    title varchar(255),
+    primary key (id)
+);
+
+create table tag (
+    id bigint generated by default as identity,
+    time_created timestamp(6),
+    version bigint,
+    name varchar(255),
+    primary key (id),
+    constraint uk_tag_name unique (name)
+);
+
+create table blog_post_tags (
+    blog_posts_id bigint not null,
+    tags_id bigint not null,
+    primary key (blog_posts_id, tags_id),
+    constraint fk_blog_post_tags_tag foreign key (tags_id) references tag (id),
+    constraint fk_blog_post_tags_blog_post foreign key (blog_posts_id) references blog_post (id)
+);
+
+create index idx_blog_post_tags_tag_post on blog_post_tags (tags_id, blog_posts_id);
@@ -0,0 +1,12 @@
+create table idempotency_key (
+    idempotency_key varchar(255) not null,
+    request_hash char(64),
+    status int,
+    content_type varchar(255),
+    location varchar(2048),
+    body blob,
+    created_at timestamp(6) not null,
+    primary key (idempotency_key)
+);
+
+create index idx_idempotency_key_created_at on idempotency_key (created_at);
@@ -0,0 +1,4 @@
+-- Blog post ids come from an identity column, as on MySQL; it continues after the highest id.
+drop sequence blog_post_seq;
+alter table blog_post alter column id bigint generated by default as identity;
+alter table blog_post alter column id restart with (select coalesce(max(id), 0) + 1 from blog_post);
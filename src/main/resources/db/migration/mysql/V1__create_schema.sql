@@ -0,0 +1,26 @@
+-- Baseline schema, identical to what ddl-auto=update created for the original entities
+-- (identity ids, no version or update timestamp columns), so databases created before
+-- migrations were introduced can be baselined at this version. Later changes start at V2.
+create table blog_post (
+    id bigint not null auto_increment,
+    text varchar(255),
+    title varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table tag (
+    id bigint not null auto_increment,
+    time_created datetime(6),
+    name varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table blog_post_tags (
+    blog_posts_id bigint not null,
+    tags_id bigint not null,
+    primary key (blog_posts_id, tags_id)
+) engine=InnoDB;
+
+alter table tag add constraint UK1wdpsed5kna2y38hnbgrnhi5b unique (name);
+alter table blog_post_tags add constraint FKdi6oocnyots8ekaewpiw8j6j4 foreign key (tags_id) references tag (id);
+alter table blog_post_tags add constraint FKnxakn7716185e3kduhnf5oujv foreign key (blog_posts_id) references blog_post (id);
@@ -0,0 +1,21 @@
+-- Optimistic locking and conditional GETs read version columns; rows written before
+-- they existed start at version 0.
+alter table blog_post add column time_updated datetime(6), add column version bigint;
+update blog_post set version = 0 where version is null;
+
+alter table tag add column version bigint;
+update tag set version = 0 where version is null;
+
+-- Blog post ids come from a pooled sequence (allocation size 50) so inserts can be batched.
+-- The id column keeps its auto_increment, unused since every insert carries an id. The pooled
+-- optimizer hands out ids from next_val - 49 on, so next_val starts 51 past the highest id.
+create table blog_post_seq (next_val bigint) engine=InnoDB;
+insert into blog_post_seq select coalesce(max(id), 0) + 51 from blog_post;
+
+-- The primary key covers post -> tags; this covers tag -> posts in id order, which
+-- is what tag filters and keyset pages (blog_posts_id > ? order by id) read.
+create index idx_blog_post_tags_tag_post on blog_post_tags (tags_id, blog_posts_id);
+
+-- Tag expressions match names case-insensitively through lower(name); a functional
+-- index (MySQL 8.0.13+) keeps that lookup from scanning the tag table.
+create index idx_tag_name_lower on tag ((lower(name)));
@@ -0,0 +1,14 @@
+-- Responses of writes sent with an Idempotency-Key, shared by all instances
+-- (blog.idempotency.store=jdbc). A row without a status is still in progress.
+create table idempotency_key (
+    idempotency_key varchar(255) not null,
+    request_hash char(64),
+    status int,
+    content_type varchar(255),
+    location varchar(2048),
+    body longblob,
+    created_at datetime(6) not null,
+    primary key (idempotency_key)
+) engine=InnoDB;
+
+create index idx_idempotency_key_created_at on idempotency_key (created_at);
@@ -0,0 +1,4 @@
+-- Blog post ids come from the auto_increment column again. On MySQL the pooled sequence was a
+-- table that Hibernate advances on a second pooled connection, so a write could wait on the pool
+-- while holding a connection. InnoDB already keeps the counter past every id the sequence handed out.
+drop table blog_post_seq;
@@ -0,0 +1,30 @@
+-- Sample data for local development; enabled by the demo profile. Safe to re-run:
+-- every row is only inserted when it is missing.
+
+insert into blog_post (id, title, text, version) select 1, 'One', 'Blog About Music', 0 from dual where not exists (select 1 from blog_post where id = 1);
+insert into blog_post (id, title, text, version) select 2, 'Two', 'Blog Post About Programming', 0 from dual where not exists (select 1 from blog_post where id = 2);
+insert into blog_post (id, title, text, version) select 3, 'Three', 'Another Music Blog', 0 from dual where not exists (select 1 from blog_post where id = 3);
+insert into blog_post (id, title, text, version) select 4, 'Four', 'Programming Languages Blog Post', 0 from dual where not exists (select 1 from blog_post where id = 4);
+
+insert into tag (name, time_created, version) select 'Songs', '2024-08-07 14:43:47.830', 0 from dual where not exists (select 1 from tag where name = 'Songs');
+insert into tag (name, time_created, version) select 'Music', '2024-08-07 14:43:47.830', 0 from dual where not exists (select 1 from tag where name = 'Music');
+insert into tag (name, time_created, version) select 'Album', '2024-08-07 14:43:47.830', 0 from dual where not exists (select 1 from tag where name = 'Album');
+insert into tag (name, time_created, version) select 'Guitar', '2024-08-07 14:43:47.830', 0 from dual where not exists (select 1 from tag where name = 'Guitar');
+insert into tag (name, time_created, version) select 'Java', '2024-08-07 14:43:47.830', 0 from dual where not exists (select 1 from tag where name = 'Java');
+insert into tag (name, time_created, version) select 'C#', '2024-08-07 14:43:47.830', 0 from dual where not exists (select 1 from tag where name = 'C#');
+insert into tag (name, time_created, version) select 'C++', '2024-08-07 14:43:47.830', 0 from dual where not exists (select 1 from tag where name = 'C++');
+insert into tag (name, time_created, version) select 'Python', '2024-08-07 14:43:47.830', 0 from dual where not exists (select 1 from tag where name = 'Python');
+
+insert into blog_post_tags (blog_posts_id, tags_id) select 1, id from tag where name = 'Songs' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 1 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 1, id from tag where name = 'Music' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 1 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 1, id from tag where name = 'Album' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 1 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 1, id from tag where name = 'Guitar' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 1 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 2, id from tag where name = 'Python' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 2 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 2, id from tag where name = 'Java' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 2 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 2, id from tag where name = 'C++' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 2 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 3, id from tag where name = 'Album' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 3 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 3, id from tag where name = 'Guitar' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 3 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 4, id from tag where name = 'Java' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 4 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 4, id from tag where name = 'C#' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 4 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 4, id from tag where name = 'C++' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 4 and bpt.tags_id = tag.id);
+insert into blog_post_tags (blog_posts_id, tags_id) select 4, id from tag where name = 'Python' and not exists (select 1 from blog_post_tags bpt where bpt.blog_posts_id = 4 and bpt.tags_id = tag.id);
@@ -0,0 +1,114 @@
+package com.app.blog.smoke;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts a packaged build of the application on H2 and checks the paths that a native image or an AOT
+ * build can break without failing at startup: JSON bodies, JPQL constructor results, the tag version
+ * projection, specifications and the exception handler. Prints the time from process start to the first
+ * answered request.
+ * <p>
+ * The command comes from {@code -Dsmoke.command}, e.g. {@code target/blog} for the native image; the
+ * {@code native} and {@code cds} profiles run this in {@code integration-test}.
+ */
+public final class SmokeTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private SmokeTest() {
+
+    }
+
+    public static void main(String[] args) throws Exception {
+        String command = System.getProperty("smoke.command");
+        int port = Integer.getInteger("smoke.port", 18080);
+        List<String> commandLine = new ArrayList<>(Arrays.asList(command.trim().split("\\s+")));
+        commandLine.addAll(List.of("--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:smoke;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.app.blog=WARN"));
+        Path log = Files.createTempFile("smoke", ".log");
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(commandLine).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        String base = "http://localhost:" + port;
+        try (HttpClient httpClient = HttpClient.newHttpClient()) {
+            awaitFirstRequest(httpClient, process, base + "/tags", started);
+            System.out.printf("time to first request: %d ms%n", (System.nanoTime() - started) / 1_000_000);
+
+            expect(send(httpClient, post(base + "/tags", "{\"name\":\"native\"}")), 200, "\"native\"");
+            expect(send(httpClient, post(base + "/blogs", "{\"title\":\"Native\",\"text\":\"Hello native\",\"tags\":[\"native\",\"graal\"]}")),
+                    200, "\"graal\"");
+            expect(send(httpClient, get(base + "/blogs?tags=native%2Bgraal")), 200, "\"Hello native\"");
+            expect(send(httpClient, get(base + "/blogs/" + Long.MAX_VALUE)), 404, "Blog post not found");
+            expect(send(httpClient, get(base + "/tags/stats")), 200, "\"postCount\":1");
+            HttpResponse<String> tags = send(httpClient, get(base + "/tags"));
+            expect(tags, 200, "\"graal\"");
+            String eTag = tags.headers().firstValue("ETag").orElseThrow(() -> new AssertionError("GET /tags without ETag"));
+            expect(send(httpClient, HttpRequest.newBuilder(URI.create(base + "/tags")).header("If-None-Match", eTag).build()), 304, "");
+            System.out.println("smoke test passed");
+        } catch (Throwable e) {
+            System.err.println(Files.readString(log));
+            throw e;
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void awaitFirstRequest(HttpClient httpClient, Process process, String url, long started) throws Exception {
+        while (true) {
+            if (!process.isAlive()) {
+                throw new AssertionError("application exited with " + process.exitValue());
+            }
+            if (System.nanoTime() - started > STARTUP_TIMEOUT.toNanos()) {
+                throw new AssertionError("application did not answer within " + STARTUP_TIMEOUT);
+            }
+            try {
+                if (send(httpClient, get(url)).statusCode() == 200) {
+                    return;
+                }
+            } catch (ConnectException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).build();
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static HttpResponse<String> send(HttpClient httpClient, HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static void expect(HttpResponse<String> response, int status, String bodyPart) {
+        if (response.statusCode() != status || !response.body().contains(bodyPart)) {
+            throw new AssertionError(response.request().method() + " " + response.request().uri() + " answered "
+                    + response.statusCode() + ": " + response.body());
+        }
+    }
+}
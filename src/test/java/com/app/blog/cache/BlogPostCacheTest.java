@@ -0,0 +1,94 @@
+package com.app.blog.cache;
+
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.TagDTO;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import com.app.blog.service.BlogPostService;
+import com.app.blog.service.TagService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+class BlogPostCacheTest {
+
+    @Autowired
+    private BlogPostService blogPostService;
+    @Autowired
+    private TagService tagService;
+    @Autowired
+    private BlogPostCache blogPostCache;
+    @Autowired
+    private TagNameCache tagNameCache;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    Long id;
+
+    @BeforeEach
+    void setUp() {
+        blogPostService.create(new BlogPostDTO("Title", "Some text", List.of("java")));
+        id = blogPostRepository.findAll().getFirst().getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+        blogPostCache.nativeCache().invalidateAll();
+        tagNameCache.nativeCache().invalidateAll();
+    }
+
+    @Test
+    void testSecondReadIsServedFromCache() {
+        blogPostService.findById(id);
+        statistics.clear();
+        long hits = blogPostCache.stats().hitCount();
+
+        BlogPostDTO cached = blogPostService.findById(id);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(hits + 1, blogPostCache.stats().hitCount());
+        assertEquals("Title", cached.getTitle());
+    }
+
+    @Test
+    void testWritesInvalidateThePost() {
+        blogPostService.findById(id);
+        blogPostService.patch(id, new BlogPostDTO("New title", null, List.of()));
+        assertEquals("New title", blogPostService.findById(id).getTitle());
+
+        blogPostService.addTagToBlogPost(id, List.of("spring"));
+        assertEquals(2, blogPostService.findById(id).getTags().size());
+
+        blogPostService.removeTagFromBlogPost(id, List.of("spring"));
+        assertEquals(List.of("java"), blogPostService.findById(id).getTags());
+    }
+
+    @Test
+    void testTagRenameInvalidatesPostsWithTheTag() {
+        blogPostService.findById(id);
+        Long tagId = tagRepository.findByName("java").orElseThrow().getId();
+
+        tagService.update(tagId, new TagDTO("kotlin"));
+
+        assertEquals(List.of("kotlin"), blogPostService.findById(id).getTags());
+    }
+}
@@ -0,0 +1,156 @@
+package com.app.blog.cache;
+
+import com.app.blog.model.BlogPost;
+import com.app.blog.model.Tag;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import com.app.blog.service.BlogPostService;
+import com.app.blog.service.TagService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=hibernate-cache.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail"
+})
+@AutoConfigureTestDatabase
+class SecondLevelCacheTest {
+
+    private static final String BLOG_POST_REGION = "blog-post";
+    private static final String TAGS_REGION = "blog-post-tags";
+    private static final String TAG_REGION = "tag";
+
+    @Autowired
+    private BlogPostService blogPostService;
+    @Autowired
+    private TagService tagService;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private BlogPostCache blogPostCache;
+    @Autowired
+    private TagNameCache tagNameCache;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private org.hibernate.Cache cache;
+    private Statistics statistics;
+    Long id;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        statistics = sessionFactory.getStatistics();
+        blogPostService.create(new BlogPostDTO("Title", "Some text", List.of("java", "spring")));
+        id = blogPostRepository.findAll().getFirst().getId();
+        cache.evictAllRegions();
+        // load the post, its tag collection and the tags into the regions
+        loadTagNames(id);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+        blogPostCache.nativeCache().invalidateAll();
+        tagNameCache.nativeCache().invalidateAll();
+        cache.evictAllRegions();
+    }
+
+    @Test
+    void testEntitiesAndCollectionAreServedFromTheRegions() {
+        assertEquals(List.of("java", "spring"), loadTagNames(id));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, region(BLOG_POST_REGION).getHitCount());
+        assertEquals(1, region(TAGS_REGION).getHitCount());
+        assertEquals(2, region(TAG_REGION).getHitCount());
+    }
+
+    @Test
+    void testFindByNameIsServedFromTheNaturalIdCache() {
+        tagService.findByName("java");
+        tagNameCache.nativeCache().invalidateAll();
+        statistics.clear();
+
+        assertEquals("java", tagService.findByName("java").getName());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+
+    @Test
+    void testUpdateReplacesTheCachedPost() {
+        blogPostService.patch(id, new BlogPostDTO("New title", null, List.of()));
+        assertTrue(cache.containsEntity(BlogPost.class, id));
+        statistics.clear();
+
+        assertEquals("New title", transactionTemplate.execute(status -> blogPostRepository.findById(id).orElseThrow().getTitle()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testTagChangesInvalidateOnlyTheTagCollection() {
+        blogPostService.addTagToBlogPost(id, List.of("hibernate"));
+        assertEquals(List.of("hibernate", "java", "spring"), loadTagNames(id));
+
+        blogPostService.removeTagFromBlogPost(id, List.of("java"));
+        statistics.clear();
+
+        assertEquals(List.of("hibernate", "spring"), loadTagNames(id));
+        assertEquals(0, region(TAGS_REGION).getHitCount());
+        assertEquals(1, region(TAGS_REGION).getMissCount());
+        // only the post's collection entry is invalidated, the post itself was updated in place
+        assertEquals(1, region(BLOG_POST_REGION).getHitCount());
+    }
+
+    @Test
+    void testDeletingATagInvalidatesTheTagCollections() {
+        tagService.deleteById(tagRepository.findByName("java").orElseThrow().getId());
+
+        assertEquals(List.of("spring"), loadTagNames(id));
+    }
+
+    @Test
+    void testDeleteEvictsThePost() {
+        blogPostService.deleteById(id);
+        statistics.clear();
+
+        assertTrue(blogPostRepository.findById(id).isEmpty());
+        assertEquals(0, region(BLOG_POST_REGION).getHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private List<String> loadTagNames(Long blogPostId) {
+        return transactionTemplate.execute(status -> blogPostRepository.findById(blogPostId).orElseThrow().getTags().stream()
+                .map(Tag::getName)
+                .sorted()
+                .toList());
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return statistics.getDomainDataRegionStatistics(name);
+    }
+}
@@ -0,0 +1,137 @@
+package com.app.blog.compression;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.TagDTO;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import com.app.blog.service.BlogPostService;
+import com.app.blog.service.TagService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "blog.compression.enabled=true",
+        "blog.compression.min-response-size=1KB",
+        "blog.compression.mime-types=application/json,application/x-ndjson"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class ResponseCompressionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ResponseCompressionFilter filter;
+    @Autowired
+    private TagService tagService;
+    @Autowired
+    private BlogPostService blogPostService;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagNameCache tagNameCache;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 100; i++) {
+            tagService.create(new TagDTO("tag-number-" + i));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+        tagNameCache.nativeCache().invalidateAll();
+    }
+
+    @Test
+    void testLargeResponseIsEncodedWithThePreferredCoding() throws Exception {
+        byte[] identity = this.mockMvc.perform(get("/tags")).andReturn().getResponse().getContentAsByteArray();
+
+        MockHttpServletResponse brotli = this.mockMvc.perform(get("/tags").header("Accept-Encoding", "gzip, deflate, br"))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertEquals("br", brotli.getHeader("Content-Encoding"));
+        assertTrue(brotli.getHeaders("Vary").contains("Accept-Encoding"));
+        assertNull(brotli.getHeader("Content-Length"));
+        assertArrayEquals(identity, Decoder.decompress(brotli.getContentAsByteArray()).getDecompressedData());
+
+        MockHttpServletResponse gzip = this.mockMvc.perform(get("/tags").header("Accept-Encoding", "br;q=0, gzip"))
+                .andReturn().getResponse();
+        assertEquals("gzip", gzip.getHeader("Content-Encoding"));
+        assertArrayEquals(identity, gunzip(gzip.getContentAsByteArray()));
+        assertTrue(gzip.getContentAsByteArray().length < identity.length / 3);
+    }
+
+    @Test
+    void testSmallResponseIsSentAsIs() throws Exception {
+        Long id = tagRepository.findAll().getFirst().getId();
+        MockHttpServletResponse response = this.mockMvc.perform(get("/tags/" + id).header("Accept-Encoding", "gzip"))
+                .andReturn().getResponse();
+        assertNull(response.getHeader("Content-Encoding"));
+        assertTrue(response.getContentAsString().contains("tag-number-"));
+    }
+
+    @Test
+    void testEncodedResponseHasAWeakETagThatStillRevalidates() throws Exception {
+        MockHttpServletResponse response = this.mockMvc.perform(get("/tags").header("Accept-Encoding", "gzip"))
+                .andReturn().getResponse();
+        String eTag = response.getHeader("ETag");
+        assertTrue(eTag.startsWith("W/\""));
+        this.mockMvc.perform(get("/tags").header("Accept-Encoding", "gzip").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testStreamedExportIsEncoded() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            blogPostService.create(new BlogPostDTO("Title " + i, "Some text", List.of("tag-number-" + i)));
+        }
+        MvcResult result = this.mockMvc.perform(get("/blogs/export").header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted()).andReturn();
+        MockHttpServletResponse response = this.mockMvc.perform(asyncDispatch(result)).andReturn().getResponse();
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(50, new String(gunzip(response.getContentAsByteArray())).lines().count());
+    }
+
+    @Test
+    void testNegotiation() {
+        assertEquals(ContentCoding.BROTLI, filter.negotiate("gzip, br"));
+        assertEquals(ContentCoding.GZIP, filter.negotiate("gzip;q=1.0, br;q=0.5"));
+        assertEquals(ContentCoding.GZIP, filter.negotiate("*;q=0.5, br;q=0"));
+        assertEquals(ContentCoding.BROTLI, filter.negotiate("*"));
+        assertNull(filter.negotiate("identity"));
+        assertNull(filter.negotiate("gzip;q=0"));
+        assertNull(filter.negotiate(null));
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
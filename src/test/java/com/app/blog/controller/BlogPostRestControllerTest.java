@@ -1,10 +1,14 @@
 package com.app.blog.controller;
+import com.app.blog.controller.impl.BlogPostController;
+import com.app.blog.metrics.QueryCounter;
 import com.app.blog.model.Tag;
 import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.app.blog.model.BlogPost;
 import com.app.blog.service.BlogPostService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,17 +16,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(BlogPostRestController.class)
+@WebMvcTest(BlogPostController.class)
+@Import({QueryCounter.class, SimpleMeterRegistry.class})
 class BlogPostRestControllerTest {
 
     @Autowired
@@ -40,14 +47,14 @@ class BlogPostRestControllerTest {
 
     @BeforeEach
     void setUp() {
-        blogPostOne = new BlogPost("One", "Description One");
-        blogPostTwo = new BlogPost("Two", "Description Two");
-        tag = new Tag("java");
+        blogPostOne = BlogPost.builder().title("One").text("Description One").tags(new HashSet<>()).build();
+        blogPostTwo = BlogPost.builder().title("Two").text("Description Two").tags(new HashSet<>()).build();
+        tag = Tag.builder().name("java").blogPosts(new HashSet<>()).build();
         blogPostOne.setId(1L);
         blogPostOne.getTags().add(tag);
         blogPostTwo.setId(2L);
-        blogPostDTOOne = new BlogPostDTO("One", "Description One");
-        blogPostDTOTwo = new BlogPostDTO("Two", "Description Two");
+        blogPostDTOOne = new BlogPostDTO("One", "Description One", new ArrayList<>());
+        blogPostDTOTwo = new BlogPostDTO("Two", "Description Two", new ArrayList<>());
         blogPosts.add(blogPostDTOOne);
         blogPosts.add(blogPostDTOTwo);
         blogPostsWithTag.add(blogPostDTOOne);
@@ -60,7 +67,7 @@ class BlogPostRestControllerTest {
 
     @Test
     void testGetBlogPosts() throws Exception {
-       when(blogPostService.findAll()).thenReturn(blogPosts);
+        when(blogPostService.findAll(null, null, null, null, null)).thenReturn(page(blogPosts));
 
         this.mockMvc.perform(get("/blogs"))
                 .andDo(print()).andExpect(status().isOk());
@@ -68,7 +75,7 @@ class BlogPostRestControllerTest {
 
     @Test
     void testGetBlogPostsWithLimit() throws Exception {
-        when(blogPostService.findAllWithLimit(10)).thenReturn(blogPosts);
+        when(blogPostService.findAll(null, null, null, null, 10)).thenReturn(page(blogPosts));
 
         this.mockMvc.perform(get("/blogs").param("limit", "10"))
                 .andDo(print()).andExpect(status().isOk());
@@ -76,54 +83,55 @@ class BlogPostRestControllerTest {
 
     @Test
     void testGetBlogPostsWithTagAndLimit() throws Exception {
-        when(blogPostService.findAllByTagWithLimit("java", 10)).thenReturn(blogPosts);
+        when(blogPostService.findAll("java", null, null, null, 10)).thenReturn(page(blogPosts));
 
-        this.mockMvc.perform(get("/blogs").param("tagName", "java").param("limit", "10"))
+        this.mockMvc.perform(get("/blogs").param("tag", "java").param("limit", "10"))
                 .andDo(print()).andExpect(status().isOk());
     }
 
     @Test
     void testGetBlogPostsWithTagNumberAndLimit() throws Exception {
-        when(blogPostService.findAllByTagAndTagNumber("java", 1)).thenReturn(blogPosts);
+        when(blogPostService.findAll(null, null, 1, null, 10)).thenReturn(page(blogPosts));
 
-        this.mockMvc.perform(get("/blogs").param("tagNumber", "1").param("limit", "10"))
+        this.mockMvc.perform(get("/blogs").param("minTags", "1").param("limit", "10"))
                 .andDo(print()).andExpect(status().isOk());
     }
 
     @Test
     void testGetBlogPostsWithTagNumberAndLimitAndTag() throws Exception {
-        when(blogPostService.findAllByTagWithLimitAndTagNumberGreaterOrEqual(10,"java", 1)).thenReturn(blogPosts);
+        when(blogPostService.findAll("java", null, 1, null, 10)).thenReturn(page(blogPosts));
 
-        this.mockMvc.perform(get("/blogs").param("tagName", "java").param("tagNumber", "1").param("limit", "10"))
+        this.mockMvc.perform(get("/blogs").param("tag", "java").param("minTags", "1").param("limit", "10"))
                 .andDo(print()).andExpect(status().isOk());
     }
 
     @Test
     void testGetBlogPostsByTag() throws Exception {
-        when(blogPostService.findAllByTag(tag.getName())).thenReturn(blogPostsWithTag);
+        when(blogPostService.findAll(tag.getName(), null, null, null, null)).thenReturn(page(blogPostsWithTag));
 
-        this.mockMvc.perform(get("/blogs").param("tagName", "java"))
+        this.mockMvc.perform(get("/blogs").param("tag", "java"))
                 .andDo(print()).andExpect(status().isOk());
     }
 
     @Test
     void testGetBlogPostsByTagAndTagNumber() throws Exception {
-        when(blogPostService.findAllByTagAndTagNumber("java", 1)).thenReturn(blogPostsWithTag);
+        when(blogPostService.findAll("java", null, 1, null, null)).thenReturn(page(blogPostsWithTag));
 
-        this.mockMvc.perform((get("/blogs").param("tagName", "java")).param("tagNumber", "1"))
+        this.mockMvc.perform((get("/blogs").param("tag", "java")).param("minTags", "1"))
                 .andDo(print()).andExpect(status().isOk());
     }
 
     @Test
     void testGetBlogPostsByTagNumber() throws Exception {
-        when(blogPostService.findAllByTagNumberGreaterOrEqual(1)).thenReturn(blogPostsWithTag);
+        when(blogPostService.findAll(null, null, 1, null, null)).thenReturn(page(blogPostsWithTag));
 
-        this.mockMvc.perform(get("/blogs").param("tagNumber", "1"))
+        this.mockMvc.perform(get("/blogs").param("minTags", "1"))
                 .andDo(print()).andExpect(status().isOk());
     }
 
     @Test
     void testGetBlogPost() throws Exception {
+        when(blogPostService.findVersionById(1L)).thenReturn(0L);
         when(blogPostService.findById(1L)).thenReturn(blogPostDTOOne);
 
         this.mockMvc.perform(get("/blogs/1"))
@@ -191,7 +199,7 @@ class BlogPostRestControllerTest {
         ObjectWriter ow = mapper.writer().withDefaultPrettyPrinter();
         String requestJson=ow.writeValueAsString(blogPostOne);
 
-        Tag found = new Tag("Python");
+        Tag found = Tag.builder().name("Python").blogPosts(new HashSet<>()).build();
         found.setId(2L);
         tags.add(found.getName());
 
@@ -229,4 +237,8 @@ class BlogPostRestControllerTest {
         this.mockMvc.perform(delete("/blogs/1"))
                 .andDo(print()).andExpect(status().isOk());
     }
-}
\ No newline at end of file
+
+    private static BlogPostPageDTO page(List<BlogPostDTO> content) {
+        return new BlogPostPageDTO(content, null);
+    }
+}
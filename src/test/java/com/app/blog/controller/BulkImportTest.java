@@ -0,0 +1,92 @@
+package com.app.blog.controller;
+
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "blog.bulk.chunk-size=100"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class BulkImportTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TagNameCache tagNameCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+        tagNameCache.nativeCache().invalidateAll();
+    }
+
+    private static String blogPost(int i) {
+        return "{\"title\":\"Title " + i + "\",\"text\":\"Some text " + i + "\",\"tags\":[\"bulk\",\"tag" + i % 5 + "\"]}";
+    }
+
+    @Test
+    void testBulkJsonArray() throws Exception {
+        String body = IntStream.range(0, 250).mapToObj(BulkImportTest::blogPost)
+                .collect(Collectors.joining(",", "[", "]"));
+        this.mockMvc.perform(post("/blogs/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(250))
+                .andExpect(jsonPath("$.errors").isEmpty());
+        assertEquals(250, blogPostRepository.count());
+        assertEquals(6, tagRepository.count());
+        // one insert per post for its identity id; the 500 join rows go out in batches instead of one statement per row
+        assertTrue(statistics.getPrepareStatementCount() < 300, statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void testBulkNdjsonReportsFailedItems() throws Exception {
+        String body = blogPost(0) + "\n" +
+                "{\"title\":\"\",\"text\":\"Some text\"}\n" +
+                blogPost(2) + "\n";
+        this.mockMvc.perform(post("/blogs/bulk").contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+        assertEquals(2, blogPostRepository.count());
+    }
+}
@@ -0,0 +1,179 @@
+package com.app.blog.controller;
+
+import com.app.blog.model.BlogPost;
+import com.app.blog.model.Tag;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class StatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    BlogPost blogPost;
+    Tag tag;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Tag> tags = tagRepository.saveAll(IntStream.range(0, 10)
+                    .mapToObj(i -> Tag.builder().name("tag" + i).build())
+                    .toList());
+            IntStream.range(0, 30).forEach(i -> blogPostRepository.save(BlogPost.builder()
+                    .title("Title " + i)
+                    .text("Some text " + i)
+                    .tags(new HashSet<>(tags.subList(0, 1 + i % tags.size())))
+                    .build()));
+            tag = tags.getFirst();
+        });
+        blogPost = blogPostRepository.findAll().getFirst();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+    }
+
+    @Test
+    void testGetTagsIsVersionPlusOneStatement() throws Exception {
+        this.mockMvc.perform(get("/tags")).andExpect(status().isOk());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetTagsNotModifiedSkipsTheList() throws Exception {
+        String eTag = this.mockMvc.perform(get("/tags")).andReturn().getResponse().getHeader("ETag");
+        statistics.clear();
+        this.mockMvc.perform(get("/tags").header("If-None-Match", eTag)).andExpect(status().isNotModified());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetTagStatsIsPagePlusCountStatement() throws Exception {
+        this.mockMvc.perform(get("/tags/stats").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("tag0"))
+                .andExpect(jsonPath("$.content[0].postCount").value(30))
+                .andExpect(jsonPath("$.content[2].postCount").value(24))
+                .andExpect(jsonPath("$.totalElements").value(10))
+                .andExpect(jsonPath("$.nextPage").value(1));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void testGetTagByIdIsVersionPlusOneStatement() throws Exception {
+        this.mockMvc.perform(get("/tags/" + tag.getId())).andExpect(status().isOk());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBlogPostByIdIsVersionPlusOneStatement() throws Exception {
+        this.mockMvc.perform(get("/blogs/" + blogPost.getId())).andExpect(status().isOk());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBlogPostByIdNotModifiedFromCacheIsNoStatement() throws Exception {
+        String eTag = this.mockMvc.perform(get("/blogs/" + blogPost.getId())).andReturn().getResponse().getHeader("ETag");
+        statistics.clear();
+        this.mockMvc.perform(get("/blogs/" + blogPost.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testGetBlogPostsPageIsTwoStatements() throws Exception {
+        this.mockMvc.perform(get("/blogs").param("limit", "25")).andExpect(status().isOk());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testTagExpressionIsOneQueryWithoutDuplicates() throws Exception {
+        // post i carries tag0..tag(i % 10)
+        this.mockMvc.perform(get("/blogs").param("tags", "tag3 tag5-tag7").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(6));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        this.mockMvc.perform(get("/blogs").param("tags", "tag9|tag8,-tag1").param("limit", "100"))
+                .andExpect(jsonPath("$.content.length()").value(9));
+        this.mockMvc.perform(get("/blogs").param("tags", "tag0+missing").param("limit", "100"))
+                .andExpect(jsonPath("$.content.length()").value(0));
+        this.mockMvc.perform(get("/blogs").param("tags", "(tag0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testDeleteTagDoesNotLoadItsPosts() throws Exception {
+        // tag0 is on all 30 posts
+        this.mockMvc.perform(delete("/tags/" + tag.getId())).andExpect(status().isOk());
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, blogPostRepository.findIdsByTagId(tag.getId()).size());
+        assertEquals(30, blogPostRepository.count());
+    }
+
+    @Test
+    void testDeleteBlogPostDoesNotLoadItsTags() throws Exception {
+        this.mockMvc.perform(delete("/blogs/" + blogPost.getId())).andExpect(status().isOk());
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(29, blogPostRepository.count());
+    }
+
+    @Test
+    void testRemoveTagFromBlogPostUnlinksOnlyTheGivenTags() throws Exception {
+        BlogPost last = blogPostRepository.findWithTagsById(blogPost.getId() + 9).orElseThrow();
+        this.mockMvc.perform(delete("/blogs/" + last.getId() + "/tags").param("tags", "tag0", "tag9"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tags.length()").value(8));
+    }
+
+    @Test
+    void testExportBlogPostsIsOneStatement() throws Exception {
+        MvcResult result = this.mockMvc.perform(get("/blogs/export")).andReturn();
+        this.mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(30, result.getResponse().getContentAsString().lines().count());
+    }
+}
@@ -1,9 +1,12 @@
 package com.app.blog.controller;
 
+import com.app.blog.controller.impl.TagController;
+import com.app.blog.metrics.QueryCounter;
 import com.app.blog.model.Tag;
 import com.app.blog.model.dto.TagDTO;
 import com.app.blog.service.TagService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.AfterEach;
@@ -12,10 +15,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.mockito.Mockito.when;
@@ -23,7 +28,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(TagRestController.class)
+@WebMvcTest(TagController.class)
+@Import({QueryCounter.class, SimpleMeterRegistry.class})
 public class TagRestControllerTest {
 
     @Autowired
@@ -37,7 +43,7 @@ public class TagRestControllerTest {
 
     @BeforeEach
     void setUp() {
-        tag = new Tag("java");
+        tag = Tag.builder().name("java").blogPosts(new HashSet<>()).build();
         tag.setId(1L);
         tagDTO = new TagDTO(tag.getName());
         tags.add(tagDTO);
@@ -49,6 +55,7 @@ public class TagRestControllerTest {
 
     @Test
     void testGetTags() throws Exception {
+        when(tagService.findAllVersion()).thenReturn("1");
         when(tagService.findAll()).thenReturn(tags);
 
         this.mockMvc.perform(get("/tags"))
@@ -57,6 +64,7 @@ public class TagRestControllerTest {
 
     @Test
     void testGetTag() throws Exception {
+        when(tagService.findVersionById(tag.getId())).thenReturn(0L);
         when(tagService.findById(tag.getId())).thenReturn(tagDTO);
 
         this.mockMvc.perform(get("/tags/1"))
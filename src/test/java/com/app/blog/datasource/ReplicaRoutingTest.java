@@ -0,0 +1,135 @@
+package com.app.blog.datasource;
+
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two H2 databases stand in for a primary and its replica. They do not replicate, which makes it
+ * visible from the data which of the two served a read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "blog.datasource.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL,
+        "blog.datasource.lag-query=select seconds from replication_lag",
+        "blog.datasource.max-lag=5s",
+        "blog.datasource.check-interval=1h"
+})
+@AutoConfigureMockMvc
+public class ReplicaRoutingTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    private static final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeAll
+    static void createReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration/h2").load().migrate();
+        replica.execute("create table if not exists replication_lag (seconds bigint)");
+    }
+
+    @BeforeEach
+    void setUp() {
+        replica.update("delete from replication_lag");
+        replica.update("insert into replication_lag values (0)");
+        replica.update("insert into tag (name, time_created, version) values ('on-replica', current_timestamp, 0)");
+        primary.update("insert into tag (name, time_created, version) values ('on-primary', current_timestamp, 0)");
+        dataSource.checkReplicas();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.update("delete from blog_post");
+        primary.update("delete from blog_post");
+        replica.update("delete from tag");
+        primary.update("delete from tag");
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToTheReplica() throws Exception {
+        this.mockMvc.perform(get("/tags"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name").value(hasItem("on-replica")))
+                .andExpect(jsonPath("$[*].name").value(not(hasItem("on-primary"))));
+    }
+
+    @Test
+    void testWritesGoToThePrimary() throws Exception {
+        this.mockMvc.perform(post("/tags").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"written\"}"))
+                .andExpect(status().isOk());
+        assertEquals(1, primary.queryForObject("select count(*) from tag where name = 'written'", Integer.class));
+        assertEquals(0, replica.queryForObject("select count(*) from tag where name = 'written'", Integer.class));
+    }
+
+    @Test
+    void testClientReadsItsOwnWritesFromThePrimary() throws Exception {
+        Cookie cookie = this.mockMvc.perform(post("/tags").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"written\"}"))
+                .andReturn().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        this.mockMvc.perform(get("/tags").cookie(cookie))
+                .andExpect(jsonPath("$[*].name").value(hasItem("written")));
+        // other clients keep reading the replica
+        this.mockMvc.perform(get("/tags"))
+                .andExpect(jsonPath("$[*].name").value(not(hasItem("written"))));
+    }
+
+    @Test
+    void testBlogPostETagComesFromThePrimary() throws Exception {
+        primary.update("insert into blog_post (id, title, text, version) values (9001, 'Edited', 'Some text', 3)");
+        replica.update("insert into blog_post (id, title, text, version) values (9001, 'Title', 'Some text', 1)");
+        this.mockMvc.perform(get("/blogs/9001"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"9001-3\""))
+                .andExpect(jsonPath("$.title").value("Edited"));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToThePrimary() throws Exception {
+        replica.update("update replication_lag set seconds = 60");
+        dataSource.checkReplicas();
+        this.mockMvc.perform(get("/tags"))
+                .andExpect(jsonPath("$[*].name").value(hasItem("on-primary")));
+        replica.update("update replication_lag set seconds = 1");
+        dataSource.checkReplicas();
+        this.mockMvc.perform(get("/tags"))
+                .andExpect(jsonPath("$[*].name").value(hasItem("on-replica")));
+    }
+
+    @Test
+    void testStoppedReplicationFallsBackToThePrimary() throws Exception {
+        replica.update("delete from replication_lag");
+        dataSource.checkReplicas();
+        this.mockMvc.perform(get("/tags"))
+                .andExpect(jsonPath("$[*].name").value(hasItem("on-primary")));
+    }
+}
@@ -0,0 +1,180 @@
+package com.app.blog.idempotency;
+
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "blog.idempotency.enabled=true",
+        "blog.idempotency.store=memory",
+        "blog.idempotency.wait-timeout=10s"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class IdempotencyTest {
+
+    private static final String BLOG_POST = "{\"title\":\"Title\",\"text\":\"Some text\",\"tags\":[]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TagNameCache tagNameCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+        tagNameCache.nativeCache().invalidateAll();
+        jdbcTemplate.update("delete from idempotency_key");
+    }
+
+    @Test
+    void testRetryReplaysTheStoredResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        MockHttpServletResponse first = postBlogPost(key, BLOG_POST);
+        MockHttpServletResponse retry = postBlogPost(key, BLOG_POST);
+
+        assertEquals(200, first.getStatus());
+        assertEquals(200, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertNull(first.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        assertEquals("true", retry.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        assertEquals(1, blogPostRepository.count());
+    }
+
+    @Test
+    void testRetryOfATagThatWouldNowConflictIsStillReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+        MockHttpServletResponse first = mockMvc.perform(post("/tags").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"java\"}")).andReturn().getResponse();
+        MockHttpServletResponse retry = mockMvc.perform(post("/tags").header(IdempotencyFilter.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"java\"}")).andReturn().getResponse();
+
+        assertEquals(200, first.getStatus());
+        assertEquals(200, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals(1, tagRepository.count());
+    }
+
+    @Test
+    void testRequestsWithoutKeyOrWithDifferentKeysRunEachTime() throws Exception {
+        postBlogPost(null, BLOG_POST);
+        postBlogPost(null, BLOG_POST);
+        postBlogPost(UUID.randomUUID().toString(), BLOG_POST);
+        postBlogPost(UUID.randomUUID().toString(), BLOG_POST);
+
+        assertEquals(4, blogPostRepository.count());
+    }
+
+    @Test
+    void testKeyReusedForADifferentRequestIsRejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        postBlogPost(key, BLOG_POST);
+        MockHttpServletResponse reused = postBlogPost(key, "{\"title\":\"Other\",\"text\":\"Other text\",\"tags\":[]}");
+
+        assertEquals(422, reused.getStatus());
+        assertTrue(reused.getContentAsString().contains("already used for a different request"));
+        assertEquals(1, blogPostRepository.count());
+    }
+
+    @Test
+    void testTooLongKeyIsBadRequest() throws Exception {
+        assertEquals(400, postBlogPost("k".repeat(256), BLOG_POST).getStatus());
+        assertEquals(0, blogPostRepository.count());
+    }
+
+    @Test
+    void testConcurrentDuplicatesRunOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        int clients = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            for (int i = 0; i < clients; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return postBlogPost(key, BLOG_POST);
+                }));
+            }
+            start.countDown();
+            String body = null;
+            for (Future<MockHttpServletResponse> response : responses) {
+                assertEquals(200, response.get().getStatus());
+                if (body == null) {
+                    body = response.get().getContentAsString();
+                }
+                assertEquals(body, response.get().getContentAsString());
+            }
+        }
+        assertEquals(1, blogPostRepository.count());
+    }
+
+    @Test
+    void testJdbcStoreClaimsEachKeyOnce() {
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate, Duration.ofHours(1), Duration.ofMinutes(1));
+        String key = UUID.randomUUID().toString();
+
+        assertTrue(store.claim(key));
+        assertFalse(store.claim(key));
+        assertNull(store.find(key));
+
+        store.release(key);
+        assertTrue(store.claim(key));
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        store.complete(key, new StoredResponse("hash", 200, MediaType.APPLICATION_JSON_VALUE, null, body));
+        assertFalse(store.claim(key));
+        StoredResponse stored = store.find(key);
+        assertEquals(200, stored.status());
+        assertArrayEquals(body, stored.body());
+    }
+
+    @Test
+    void testJdbcStoreTakesOverExpiredKeys() throws InterruptedException {
+        JdbcIdempotencyStore store = new JdbcIdempotencyStore(jdbcTemplate, Duration.ZERO, Duration.ZERO);
+        String key = UUID.randomUUID().toString();
+
+        assertTrue(store.claim(key));
+        Thread.sleep(5);
+        assertTrue(store.claim(key));
+        Thread.sleep(5);
+        store.purge();
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from idempotency_key", Integer.class));
+    }
+
+    private MockHttpServletResponse postBlogPost(String key, String json) throws Exception {
+        var request = post("/blogs").contentType(MediaType.APPLICATION_JSON).content(json);
+        if (key != null) {
+            request.header(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.blog.metrics;
+
+import com.app.blog.cache.BlogPostCache;
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.model.BlogPost;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "blog.metrics.n-plus-one-threshold=2",
+        "blog.bulk.chunk-size=1"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class QueryCountInterceptorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private BlogPostCache blogPostCache;
+    @Autowired
+    private TagNameCache tagNameCache;
+
+    @AfterEach
+    void tearDown() {
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+        blogPostCache.nativeCache().invalidateAll();
+        tagNameCache.nativeCache().invalidateAll();
+        meterRegistry.clear();
+    }
+
+    @Test
+    void testQueriesAreRecordedPerEndpoint() throws Exception {
+        BlogPost blogPost = blogPostRepository.save(BlogPost.builder().title("Title").text("Some text").build());
+        this.mockMvc.perform(get("/blogs/" + blogPost.getId())).andExpect(status().isOk());
+
+        DistributionSummary queries = meterRegistry.find("blog.request.queries").tag("uri", "/blogs/{id}").summary();
+        assertNotNull(queries);
+        assertEquals(1, queries.count());
+        assertEquals(2, queries.totalAmount());
+        assertNull(meterRegistry.find("blog.request.n-plus-one").counter());
+        assertNotNull(meterRegistry.find("blog.service").tag("method", "findById").timer());
+        assertNotNull(meterRegistry.find("blog.controller").tag("method", "getBlogPostById").timer());
+    }
+
+    @Test
+    void testRepeatedStatementIsFlagged() throws Exception {
+        String body = "[{\"title\":\"Title 1\",\"text\":\"Some text\",\"tags\":[\"tag1\"]}," +
+                "{\"title\":\"Title 2\",\"text\":\"Some text\",\"tags\":[\"tag2\"]}," +
+                "{\"title\":\"Title 3\",\"text\":\"Some text\",\"tags\":[\"tag3\"]}]";
+        this.mockMvc.perform(post("/blogs/bulk").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk());
+
+        Counter flagged = meterRegistry.find("blog.request.n-plus-one").tag("uri", "/blogs/bulk").counter();
+        assertNotNull(flagged);
+        assertEquals(1, flagged.count());
+    }
+}
@@ -0,0 +1,78 @@
+package com.app.blog.model.mapper;
+
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.model.BlogPost;
+import com.app.blog.model.Tag;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.repository.BlogPostContent;
+import com.app.blog.repository.BlogPostTagLink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlogPostMapperTest {
+
+    private final TagNameCache tagNameCache = new TagNameCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    private final BlogPostMapper blogPostMapper = new BlogPostMapper(tagNameCache);
+
+    @Test
+    void testPostsShareOneCopyOfEachTagName() {
+        String cached = new String("java");
+        tagNameCache.putAll(Map.of(cached, 7L));
+        BlogPost one = BlogPost.builder().id(1L).title("One").text("Text one")
+                .tags(Set.of(Tag.builder().id(7L).name(new String("java")).build())).build();
+        BlogPost two = BlogPost.builder().id(2L).title("Two").text("Text two")
+                .tags(Set.of(Tag.builder().id(7L).name(new String("java")).build())).build();
+
+        String first = blogPostMapper.convertToDto(one).getTags().getFirst();
+        String second = blogPostMapper.convertToDto(two).getTags().getFirst();
+
+        assertEquals("java", second);
+        assertSame(cached, first);
+        assertSame(cached, second);
+    }
+
+    @Test
+    void testMappingDoesNotSeedCanonicalNames() {
+        String first = new String("java");
+        String second = new String("java");
+
+        assertSame(first, tagNameCache.canonicalName(7L, first));
+        assertSame(second, tagNameCache.canonicalName(7L, second));
+    }
+
+    @Test
+    void testRenamedTagIsNotServedFromTheOldName() {
+        tagNameCache.putAll(Map.of("java", 7L));
+
+        List<BlogPostDTO> renamed = blogPostMapper.convertToDtos(List.of(new BlogPostContent(1L, "One", "Text one")),
+                List.of(new BlogPostTagLink(1L, 7L, "kotlin")));
+
+        assertEquals(List.of("kotlin"), renamed.getFirst().getTags());
+    }
+
+    @Test
+    void testRowsAreGroupedInPostOrder() {
+        List<BlogPostContent> page = List.of(
+                new BlogPostContent(2L, "Two", "Text two"),
+                new BlogPostContent(1L, "One", "Text one"),
+                new BlogPostContent(3L, "Three", "Text three"));
+        List<BlogPostTagLink> tagLinks = List.of(
+                new BlogPostTagLink(1L, 10L, "java"),
+                new BlogPostTagLink(2L, 11L, "spring"),
+                new BlogPostTagLink(1L, 11L, "spring"));
+
+        List<BlogPostDTO> blogPosts = blogPostMapper.convertToDtos(page, tagLinks);
+
+        assertEquals(List.of("Two", "One", "Three"), blogPosts.stream().map(BlogPostDTO::getTitle).toList());
+        assertEquals(List.of("spring"), blogPosts.get(0).getTags());
+        assertEquals(List.of("java", "spring"), blogPosts.get(1).getTags());
+        assertTrue(blogPosts.get(2).getTags().isEmpty());
+    }
+}
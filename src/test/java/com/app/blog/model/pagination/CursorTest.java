@@ -0,0 +1,33 @@
+package com.app.blog.model.pagination;
+
+import com.app.blog.model.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        String cursor = Cursor.encode(42L);
+        assertEquals(42L, Cursor.decode(cursor));
+    }
+
+    @Test
+    void testCursorIsOpaque() {
+        assertFalse(Cursor.encode(42L).contains("42"));
+    }
+
+    @Test
+    void testMissingCursorStartsFromTheBeginning() {
+        assertNull(Cursor.decode(null));
+        assertNull(Cursor.decode(""));
+        assertNull(Cursor.encode(null));
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class, () -> Cursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.blog.model.specification;
+
+import com.app.blog.model.exception.InvalidTagExpressionException;
+import com.app.blog.model.specification.TagExpression.And;
+import com.app.blog.model.specification.TagExpression.Not;
+import com.app.blog.model.specification.TagExpression.Or;
+import com.app.blog.model.specification.TagExpression.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TagExpressionTest {
+
+    @Test
+    void testAndNot() {
+        TagExpression expected = new And(List.of(new Tag("java"), new Tag("spring"), new Not(new Tag("python"))));
+        assertEquals(expected, TagExpression.parse("java+spring-python"));
+        // '+' arrives as a space once the query string is decoded
+        assertEquals(expected, TagExpression.parse("java spring -python"));
+    }
+
+    @Test
+    void testPrecedence() {
+        assertEquals(new Or(List.of(new And(List.of(new Tag("a"), new Tag("b"))), new Tag("c"))),
+                TagExpression.parse("a+b|c"));
+        assertEquals(new And(List.of(new Or(List.of(new Tag("a"), new Tag("b"))), new Not(new Tag("c")))),
+                TagExpression.parse("(a,b) !c"));
+    }
+
+    @Test
+    void testQuotedNames() {
+        assertEquals(new And(List.of(new Tag("spring-boot"), new Tag("c++"))),
+                TagExpression.parse("\"spring-boot\"+\"c++\""));
+    }
+
+    @Test
+    void testEmpty() {
+        assertNull(TagExpression.parse(null));
+        assertNull(TagExpression.parse("  "));
+    }
+
+    @Test
+    void testNestingIsBounded() {
+        assertEquals(new Tag("java"), TagExpression.parse("(".repeat(TagExpression.MAX_DEPTH) + "java" + ")".repeat(TagExpression.MAX_DEPTH)));
+        assertThrows(InvalidTagExpressionException.class, () -> TagExpression.parse("(".repeat(5000) + "java" + ")".repeat(5000)));
+        assertThrows(InvalidTagExpressionException.class, () -> TagExpression.parse("!".repeat(5000) + "java"));
+    }
+
+    @Test
+    void testInvalid() {
+        assertThrows(InvalidTagExpressionException.class, () -> TagExpression.parse("(java"));
+        assertThrows(InvalidTagExpressionException.class, () -> TagExpression.parse("java)"));
+        assertThrows(InvalidTagExpressionException.class, () -> TagExpression.parse("java|"));
+        assertThrows(InvalidTagExpressionException.class, () -> TagExpression.parse("\"java"));
+        assertThrows(InvalidTagExpressionException.class,
+                () -> TagExpression.parse(String.join("|", java.util.Collections.nCopies(21, "t"))));
+    }
+}
@@ -0,0 +1,190 @@
+package com.app.blog.reactive;
+
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
+import com.app.blog.model.dto.TagDTO;
+import com.app.blog.model.exception.response.ExceptionResponse;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import com.app.blog.service.BlogPostService;
+import com.app.blog.service.TagService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes go through the servlet-side services, reads through the reactive server, both on the same
+ * in-memory H2 database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "blog.reactive.enabled=true",
+        "blog.reactive.port=0",
+        "blog.reactive.url=r2dbc:h2:mem:///reactive;DB_CLOSE_DELAY=-1"
+})
+class ReactiveReadServerTest {
+
+    @Autowired
+    private ReactiveReadServer server;
+    @Autowired
+    private BlogPostService blogPostService;
+    @Autowired
+    private TagService tagService;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TagNameCache tagNameCache;
+    private WebTestClient client;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        this.client = WebTestClient.bindToServer().baseUrl("http://localhost:" + this.server.getPort()).build();
+        tagService.create(new TagDTO("java"));
+        tagService.create(new TagDTO("spring"));
+        for (int i = 0; i < 5; i++) {
+            blogPostService.create(new BlogPostDTO("Title " + i, "Some text " + i, i % 2 == 0 ? List.of("java", "spring") : List.of()));
+        }
+        blogPostRepository.findAll().forEach(blogPost -> ids.add(blogPost.getId()));
+        ids.sort(null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+        tagNameCache.nativeCache().invalidateAll();
+    }
+
+    @Test
+    void testGetBlogPostByIdMatchesTheServletDto() {
+        Long id = ids.getFirst();
+        BlogPostDTO blogPost = client.get().uri("/blogs/{id}", id).exchange()
+                .expectStatus().isOk()
+                .expectBody(BlogPostDTO.class).returnResult().getResponseBody();
+
+        BlogPostDTO expected = blogPostService.findById(id);
+        assertEquals(expected.getTitle(), blogPost.getTitle());
+        assertEquals(expected.getText(), blogPost.getText());
+        assertEquals(new HashSet<>(expected.getTags()), new HashSet<>(blogPost.getTags()));
+    }
+
+    @Test
+    void testGetMissingBlogPostIsNotFound() {
+        ExceptionResponse response = client.get().uri("/blogs/{id}", Long.MAX_VALUE).exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ExceptionResponse.class).returnResult().getResponseBody();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatus());
+        assertEquals("Blog post not found", response.getMessage());
+    }
+
+    @Test
+    void testGetBlogPostsPagesWithCursor() {
+        BlogPostPageDTO first = client.get().uri("/blogs?limit=3").exchange()
+                .expectStatus().isOk()
+                .expectBody(BlogPostPageDTO.class).returnResult().getResponseBody();
+        assertEquals(List.of("Title 0", "Title 1", "Title 2"), first.getContent().stream().map(BlogPostDTO::getTitle).toList());
+        assertNotNull(first.getNextCursor());
+
+        BlogPostPageDTO second = client.get().uri("/blogs?limit=3&cursor={cursor}", first.getNextCursor()).exchange()
+                .expectStatus().isOk()
+                .expectBody(BlogPostPageDTO.class).returnResult().getResponseBody();
+        assertEquals(List.of("Title 3", "Title 4"), second.getContent().stream().map(BlogPostDTO::getTitle).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testGetBlogPostsFiltersByTag() {
+        BlogPostPageDTO page = client.get().uri("/blogs?tag=java").exchange()
+                .expectStatus().isOk()
+                .expectBody(BlogPostPageDTO.class).returnResult().getResponseBody();
+        assertEquals(List.of("Title 0", "Title 2", "Title 4"), page.getContent().stream().map(BlogPostDTO::getTitle).toList());
+        page.getContent().forEach(blogPost -> assertTrue(blogPost.getTags().containsAll(List.of("java", "spring"))));
+    }
+
+    @Test
+    void testGetBlogPostsFiltersByTagExpressionAndTagNumberLikeTheServletEndpoint() {
+        // tag, tags, minTags
+        List<Object[]> filters = List.of(
+                new Object[]{null, "java spring", null},
+                new Object[]{null, "-java", null},
+                new Object[]{null, "(java|kotlin) -spring", null},
+                new Object[]{null, "JAVA", 1},
+                new Object[]{null, null, 2},
+                new Object[]{"spring", "java|spring", 1});
+        for (Object[] filter : filters) {
+            String tag = (String) filter[0];
+            String tags = (String) filter[1];
+            Integer minTags = (Integer) filter[2];
+            BlogPostPageDTO page = client.get().uri(uriBuilder -> uriBuilder.path("/blogs")
+                            .queryParamIfPresent("tag", Optional.ofNullable(tag))
+                            .queryParamIfPresent("tags", Optional.ofNullable(tags))
+                            .queryParamIfPresent("minTags", Optional.ofNullable(minTags))
+                            .build())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(BlogPostPageDTO.class).returnResult().getResponseBody();
+            assertEquals(blogPostService.findAll(tag, tags, minTags, null, null).getContent().stream().map(BlogPostDTO::getTitle).toList(),
+                    page.getContent().stream().map(BlogPostDTO::getTitle).toList(), tag + " / " + tags + " / " + minTags);
+        }
+        BlogPostPageDTO untagged = client.get().uri("/blogs?tags={tags}", "-java").exchange()
+                .expectStatus().isOk()
+                .expectBody(BlogPostPageDTO.class).returnResult().getResponseBody();
+        assertEquals(List.of("Title 1", "Title 3"), untagged.getContent().stream().map(BlogPostDTO::getTitle).toList());
+    }
+
+    @Test
+    void testInvalidTagExpressionIsBadRequest() {
+        client.get().uri("/blogs?tags={tags}", "(java").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testInvalidCursorIsBadRequest() {
+        client.get().uri("/blogs?cursor=not-a-cursor").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testGetBlogPostsStreamsNdjson() {
+        List<BlogPostDTO> blogPosts = client.get().uri("/blogs").accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(BlogPostDTO.class).getResponseBody().collectList().block();
+        assertEquals(5, blogPosts.size());
+        assertEquals(List.of("java", "spring"), blogPosts.getFirst().getTags().stream().sorted().toList());
+    }
+
+    @Test
+    void testGetBlogPostsStreamsServerSentEvents() {
+        List<BlogPostDTO> blogPosts = client.get().uri("/blogs").accept(MediaType.TEXT_EVENT_STREAM).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(BlogPostDTO.class).getResponseBody().collectList().block();
+        assertEquals(5, blogPosts.size());
+    }
+
+    @Test
+    void testGetAllTags() {
+        List<TagDTO> tags = client.get().uri("/tags").exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TagDTO.class).returnResult().getResponseBody();
+        assertEquals(List.of("java", "spring"), tags.stream().map(TagDTO::getName).sorted().toList());
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import java.util.HashSet;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -23,8 +24,8 @@ public class BlogPostRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        blogPost = new BlogPost("One", "Description One");
-        tag = new Tag("java");
+        blogPost = BlogPost.builder().title("One").text("Description One").tags(new HashSet<>()).build();
+        tag = Tag.builder().name("java").blogPosts(new HashSet<>()).build();
         tagRepository.save(tag);
         blogPost.getTags().add(tag);
         blogPostRepository.save(blogPost);
@@ -46,7 +47,7 @@ public class BlogPostRepositoryTest {
 
     @Test
     public void testFindByTagNotFound() {
-        Tag notFound = new Tag("c++");
+        Tag notFound = Tag.builder().name("c++").blogPosts(new HashSet<>()).build();
         tagRepository.save(notFound);
         List<BlogPost> blogPostsWithTag = blogPostRepository.findBlogPostByTagsContaining(notFound);
         assertTrue(blogPostsWithTag.isEmpty());
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -25,8 +26,8 @@ public class TagRepositoryTest {
 
     @BeforeEach
     void setUp() {
-        tag = new Tag("java");
-        blog = new BlogPost("First", "Text");
+        tag = Tag.builder().name("java").blogPosts(new HashSet<>()).build();
+        blog = BlogPost.builder().title("First").text("Text").tags(new HashSet<>()).build();
         blog.getTags().add(tag);
         tagRepository.save(tag);
         blogPostRepository.save(blog);
@@ -36,8 +37,8 @@ public class TagRepositoryTest {
     void tearDown() {
         tag = null;
         blog = null;
-        tagRepository.deleteAll();
         blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
     }
 
     @Test
@@ -48,7 +49,7 @@ public class TagRepositoryTest {
 
     @Test
     public void testFindByBlogNotFound() {
-        BlogPost blogNotFound = new BlogPost("First", "Text");
+        BlogPost blogNotFound = BlogPost.builder().title("First").text("Text").tags(new HashSet<>()).build();
         blogPostRepository.save(blogNotFound);
         List<Tag> tags = tagRepository.findTagsByBlogPostsContains(blogNotFound);
         assertTrue(tags.isEmpty());
@@ -0,0 +1,83 @@
+package com.app.blog.search;
+
+import com.app.blog.model.dto.BlogPostDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BlogPostSearchIndexTest {
+
+    private BlogPostSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new BlogPostSearchIndex();
+        index(1L, "Spring Boot basics", "Getting started with Spring", "java", "spring");
+        index(2L, "Java records", "Records are compact classes", "java");
+        index(3L, "Spring Data", "Spring Spring Spring repositories", "spring");
+        index(4L, "Python tips", "Nothing about the other framework", "python");
+    }
+
+    private void index(Long id, String title, String text, String... tags) {
+        searchIndex.index(id, BlogPostDTO.builder().title(title).text(text).tags(List.of(tags)).build());
+    }
+
+    @Test
+    void testMatchesEveryTermAndRanksByFrequency() {
+        SearchResult result = searchIndex.search("spring", null, 0, 10);
+        assertEquals(List.of(3L, 1L), result.ids());
+        assertEquals(2, result.totalHits());
+
+        assertEquals(List.of(1L), searchIndex.search("SPRING, started!", null, 0, 10).ids());
+        assertEquals(0, searchIndex.search("spring python", null, 0, 10).totalHits());
+        assertEquals(0, searchIndex.search("   ", null, 0, 10).totalHits());
+    }
+
+    @Test
+    void testTagFilter() {
+        assertEquals(List.of(1L), searchIndex.search("spring", List.of("Java"), 0, 10).ids());
+        assertEquals(List.of(), searchIndex.search("spring", List.of("missing"), 0, 10).ids());
+    }
+
+    @Test
+    void testPagination() {
+        SearchResult first = searchIndex.search("spring", null, 0, 1);
+        SearchResult second = searchIndex.search("spring", null, 1, 1);
+        assertEquals(List.of(3L), first.ids());
+        assertEquals(List.of(1L), second.ids());
+        assertEquals(2, second.totalHits());
+    }
+
+    @Test
+    void testPageBeyondTheHitsOnlyCounts() {
+        SearchResult result = searchIndex.search("spring", null, (long) Integer.MAX_VALUE * 100, 100);
+        assertEquals(List.of(), result.ids());
+        assertEquals(2, result.totalHits());
+        assertEquals(List.of(), searchIndex.search("spring", null, Long.MAX_VALUE, Integer.MAX_VALUE).ids());
+    }
+
+    @Test
+    void testUpdateAndRemove() {
+        index(3L, "Kotlin coroutines", "Structured concurrency", "kotlin");
+        assertEquals(List.of(1L), searchIndex.search("spring", null, 0, 10).ids());
+        assertEquals(List.of(3L), searchIndex.search("coroutines", List.of("kotlin"), 0, 10).ids());
+
+        searchIndex.remove(1L);
+        assertEquals(0, searchIndex.search("spring", null, 0, 10).totalHits());
+        assertEquals(3, searchIndex.size());
+    }
+
+    @Test
+    void testTagRenameAndRemoval() {
+        searchIndex.renameTag("spring", "spring-boot");
+        assertEquals(List.of(3L, 1L), searchIndex.search("spring", List.of("spring-boot"), 0, 10).ids());
+        assertEquals(0, searchIndex.search("spring", List.of("spring"), 0, 10).totalHits());
+
+        searchIndex.removeTag("java");
+        assertEquals(0, searchIndex.search("records", List.of("java"), 0, 10).totalHits());
+        assertEquals(List.of(2L), searchIndex.search("records", null, 0, 10).ids());
+    }
+}
@@ -0,0 +1,44 @@
+package com.app.blog.serialization;
+
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
+import com.app.blog.model.dto.TagDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DtoSerializerTest {
+
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ObjectMapper tunedMapper = new ObjectMapper()
+            .registerModule(new BlackbirdModule())
+            .registerModule(new SimpleModule()
+                    .addSerializer(new BlogPostDTOSerializer())
+                    .addSerializer(new TagDTOSerializer()));
+
+    @Test
+    void testBlogPostOutputMatchesBeanSerialization() throws Exception {
+        BlogPostPageDTO page = new BlogPostPageDTO(List.of(
+                new BlogPostDTO("Title", "Text with \"quotes\" and ünïcode", List.of("java", "spring")),
+                new BlogPostDTO("Untagged", "Text", List.of()),
+                new BlogPostDTO(null, null, null)), "cursor");
+        assertEquals(defaultMapper.writeValueAsString(page), tunedMapper.writeValueAsString(page));
+    }
+
+    @Test
+    void testTagOutputMatchesBeanSerialization() throws Exception {
+        List<TagDTO> tags = List.of(new TagDTO("java"), new TagDTO(null));
+        assertEquals(defaultMapper.writeValueAsString(tags), tunedMapper.writeValueAsString(tags));
+    }
+
+    @Test
+    void testDeserializationIsUnchanged() throws Exception {
+        String json = "{\"title\":\"Title\",\"text\":\"Some text\",\"tags\":[\"java\"]}";
+        assertEquals(defaultMapper.readValue(json, BlogPostDTO.class), tunedMapper.readValue(json, BlogPostDTO.class));
+    }
+}
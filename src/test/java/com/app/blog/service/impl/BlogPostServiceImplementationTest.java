@@ -0,0 +1,233 @@
+package com.app.blog.service.impl;
+
+import com.app.blog.cache.BlogPostCache;
+import com.app.blog.cache.CachedBlogPost;
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.model.BlogPost;
+import com.app.blog.model.Tag;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.BlogPostPageDTO;
+import com.app.blog.model.exception.BlogPostNotFoundException;
+import com.app.blog.model.mapper.BlogPostMapper;
+import com.app.blog.model.pagination.Cursor;
+import com.app.blog.repository.BlogPostContent;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.BlogPostTagLink;
+import com.app.blog.repository.TagRepository;
+import com.app.blog.search.BlogPostSearchIndex;
+import com.app.blog.service.BlogPostService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BlogPostServiceImplementationTest {
+
+    @Mock
+    private BlogPostRepository blogPostRepository;
+    @Mock
+    private TagRepository tagRepository;
+    @Mock
+    private TagResolver tagResolver;
+    @Mock
+    private TagNameCache tagNameCache;
+    @Mock
+    private BlogPostCache blogPostCache;
+    @Mock
+    private BlogPostSearchIndex searchIndex;
+    @Mock
+    private EntityManager entityManager;
+    private BlogPostService blogPostService;
+    AutoCloseable autoCloseable;
+    BlogPost blogPost;
+    BlogPostContent blogPostContent;
+    Tag tag;
+    List<String> tags = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        autoCloseable = MockitoAnnotations.openMocks(this);
+        blogPostService = BlogPostServiceImplementation.builder()
+                .blogPostRepository(blogPostRepository)
+                .tagRepository(tagRepository)
+                .tagResolver(tagResolver)
+                .blogPostMapper(new BlogPostMapper(tagNameCache))
+                .blogPostCache(blogPostCache)
+                .searchIndex(searchIndex)
+                .entityManager(entityManager)
+                .build();
+        when(tagNameCache.canonicalName(anyLong(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(blogPostCache.get(anyLong(), any())).thenAnswer(invocation ->
+                invocation.<Function<Long, CachedBlogPost>>getArgument(1).apply(invocation.getArgument(0)));
+        when(blogPostRepository.save(any(BlogPost.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        blogPost = BlogPost.builder().id(1L).title("One").text("Description One").version(0L).tags(new HashSet<>()).build();
+        blogPostContent = new BlogPostContent(1L, "One", "Description One");
+        tag = Tag.builder().id(1L).name("c#").blogPosts(new HashSet<>()).build();
+        blogPost.getTags().add(tag);
+        tags.add(tag.getName());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        autoCloseable.close();
+    }
+
+    @Test
+    void testFindAllBlogPosts() {
+        when(blogPostRepository.findContentBy(any(), eq(BlogPostServiceImplementation.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(blogPostContent));
+        when(blogPostRepository.findTagLinksByIdIn(List.of(1L)))
+                .thenReturn(List.of(new BlogPostTagLink(1L, tag.getId(), tag.getName())));
+        BlogPostPageDTO page = blogPostService.findAll(null, null, null, null, null);
+        assertEquals(page.getContent().getFirst(), new BlogPostDTO(blogPost.getTitle(), blogPost.getText(), tags));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindAllWithLimitBlogPostsWithLimit() {
+        int limit = 1;
+        when(blogPostRepository.findContentBy(any(), eq(limit + 1)))
+                .thenReturn(List.of(blogPostContent, new BlogPostContent(2L, "Two", "Description Two")));
+        BlogPostPageDTO page = blogPostService.findAll(null, null, null, null, limit);
+        assertEquals(1, page.getContent().size());
+        assertEquals(Cursor.encode(1L), page.getNextCursor());
+        verify(blogPostRepository).findTagLinksByIdIn(List.of(1L));
+    }
+
+    @Test
+    void testFindAllWithLimitBlogPostsBelowLimit() {
+        int limit = 50;
+        when(blogPostRepository.findContentBy(any(), eq(limit + 1))).thenReturn(List.of(blogPostContent));
+        BlogPostPageDTO page = blogPostService.findAll(null, null, null, null, limit);
+        assertEquals(page.getContent().getFirst(), new BlogPostDTO(blogPost.getTitle(), blogPost.getText(), new ArrayList<>()));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindAllWithLimitAboveMaximum() {
+        blogPostService.findAll(null, null, null, null, 1000);
+        verify(blogPostRepository).findContentBy(any(), eq(BlogPostServiceImplementation.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testFindBlogPostByTag() {
+        when(blogPostRepository.findContentBy(any(), anyInt())).thenReturn(List.of(blogPostContent));
+        when(blogPostRepository.findTagLinksByIdIn(List.of(1L)))
+                .thenReturn(List.of(new BlogPostTagLink(1L, tag.getId(), tag.getName())));
+        assertEquals(blogPostService.findAll(tag.getName(), null, null, null, null).getContent().getFirst(),
+                new BlogPostDTO(blogPost.getTitle(), blogPost.getText(), tags));
+    }
+
+    @Test
+    void testFindBlogPostByTagNumberNotFound() {
+        when(blogPostRepository.findContentBy(any(), anyInt())).thenReturn(List.of());
+        BlogPostPageDTO page = blogPostService.findAll(null, null, 2, null, null);
+        assertTrue(page.getContent().isEmpty());
+        verify(blogPostRepository, never()).findTagLinksByIdIn(any());
+    }
+
+    @Test
+    void testFindBlogPostById() {
+        when(blogPostRepository.findWithTagsById(blogPost.getId())).thenReturn(Optional.of(blogPost));
+        assertEquals(blogPostService.findById(blogPost.getId()), new BlogPostDTO(blogPost.getTitle(), blogPost.getText(), tags));
+    }
+
+    @Test
+    void testFindBlogPostByIdNotFound() {
+        when(blogPostRepository.findWithTagsById(2L)).thenReturn(Optional.empty());
+        assertThrows(BlogPostNotFoundException.class, () -> blogPostService.findById(2L));
+    }
+
+    @Test
+    void testCreateBlogPost() {
+        when(tagResolver.resolve(tags)).thenReturn(new HashSet<>(Set.of(tag)));
+        BlogPostDTO created = blogPostService.create(new BlogPostDTO(blogPost.getTitle(), blogPost.getText(), tags));
+        assertEquals(created.getTitle(), blogPost.getTitle());
+        assertEquals(created.getTags(), tags);
+        verify(searchIndex).index(any(), eq(created));
+    }
+
+    @Test
+    void testUpdateBlogPost() {
+        when(blogPostRepository.findWithTagsById(1L)).thenReturn(Optional.of(blogPost));
+        when(tagResolver.resolve(tags)).thenReturn(new HashSet<>(Set.of(tag)));
+        BlogPostDTO edited = blogPostService.update(blogPost.getId(), new BlogPostDTO("Edited", blogPost.getText(), tags));
+        assertEquals(edited.getTitle(), blogPost.getTitle());
+        verify(blogPostCache).invalidate(1L);
+    }
+
+    @Test
+    void testPatchTitleBlogPost() {
+        when(blogPostRepository.findWithTagsById(1L)).thenReturn(Optional.of(blogPost));
+        BlogPostDTO edited = blogPostService.patch(blogPost.getId(), new BlogPostDTO("Edited", null, null));
+        assertEquals("Edited", edited.getTitle());
+        assertEquals(blogPost.getText(), edited.getText());
+    }
+
+    @Test
+    void testPatchTextBlogPost() {
+        when(blogPostRepository.findWithTagsById(1L)).thenReturn(Optional.of(blogPost));
+        BlogPostDTO edited = blogPostService.patch(blogPost.getId(), new BlogPostDTO(null, "Edited text", null));
+        assertEquals("Edited text", edited.getText());
+        assertEquals(blogPost.getTitle(), edited.getTitle());
+    }
+
+    @Test
+    void testPatchTagsBlogPost() {
+        blogPost.getTags().clear();
+        when(blogPostRepository.findWithTagsById(1L)).thenReturn(Optional.of(blogPost));
+        when(tagResolver.resolve(tags)).thenReturn(new HashSet<>(Set.of(tag)));
+        BlogPostDTO edited = blogPostService.patch(blogPost.getId(), new BlogPostDTO("", "", tags));
+        assertEquals(edited.getTags().getFirst(), tags.getFirst());
+        assertEquals(blogPost.getTitle(), edited.getTitle());
+    }
+
+    @Test
+    void testAddTagToBlogPost() {
+        Tag found = Tag.builder().id(2L).name("c++").blogPosts(new HashSet<>()).build();
+        tags.add(found.getName());
+        when(blogPostRepository.findWithTagsById(blogPost.getId())).thenReturn(Optional.of(blogPost));
+        when(tagResolver.resolve(tags)).thenReturn(new HashSet<>(Set.of(tag, found)));
+        BlogPostDTO edited = blogPostService.addTagToBlogPost(blogPost.getId(), tags);
+        assertEquals(Set.copyOf(edited.getTags()), Set.copyOf(tags));
+    }
+
+    @Test
+    void testRemoveTagFromBlogPost() {
+        when(blogPostRepository.findWithTagsById(blogPost.getId())).thenReturn(Optional.of(blogPost));
+        when(tagResolver.findExistingIds(tags)).thenReturn(Set.of(tag.getId()));
+        BlogPostDTO edited = blogPostService.removeTagFromBlogPost(blogPost.getId(), tags);
+        assertTrue(edited.getTags().isEmpty());
+    }
+
+    @Test
+    void testDeleteBlog() {
+        when(blogPostRepository.findById(blogPost.getId())).thenReturn(Optional.of(blogPost));
+        doNothing().when(blogPostRepository).delete(blogPost);
+        assertAll(() -> blogPostService.deleteById(blogPost.getId()));
+        verify(blogPostCache).invalidate(1L);
+        verify(searchIndex).remove(1L);
+    }
+
+    @Test
+    void testDeleteBlogNotFound() {
+        when(blogPostRepository.findById(2L)).thenReturn(Optional.empty());
+        assertThrows(BlogPostNotFoundException.class, () -> blogPostService.deleteById(2L));
+    }
+}
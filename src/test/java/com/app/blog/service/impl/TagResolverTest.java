@@ -0,0 +1,149 @@
+package com.app.blog.service.impl;
+
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.model.Tag;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.model.dto.TagDTO;
+import com.app.blog.model.exception.TagNotFoundException;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import com.app.blog.service.BlogPostService;
+import com.app.blog.service.TagService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+class TagResolverTest {
+
+    @Autowired
+    private TagResolver tagResolver;
+    @Autowired
+    private BlogPostService blogPostService;
+    @Autowired
+    private TagService tagService;
+    @Autowired
+    private TagNameCache tagNameCache;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+        tagNameCache.nativeCache().invalidateAll();
+    }
+
+    @Test
+    void testResolveUsesConstantNumberOfStatements() {
+        tagRepository.saveAll(IntStream.range(0, 15).mapToObj(i -> Tag.builder().name("tag" + i).build()).toList());
+        List<String> names = IntStream.range(0, 30).mapToObj(i -> "tag" + i).toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Set<Tag> tags = transactionTemplate.execute(status -> tagResolver.resolve(names));
+
+        // lookup and second lookup for the inserted names; the batched insert goes through JDBC
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(30, tags.size());
+        assertEquals(30, tagRepository.count());
+    }
+
+    @Test
+    void testCachedNamesNeedNoLookup() {
+        List<String> names = List.of("java", "spring", "hibernate");
+        transactionTemplate.execute(status -> tagResolver.resolve(names));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long hits = tagNameCache.stats().hitCount();
+
+        Set<Long> ids = transactionTemplate.execute(status -> tagResolver.findExistingIds(names));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(3, ids.size());
+        assertEquals(hits + 3, tagNameCache.stats().hitCount());
+    }
+
+    @Test
+    void testRenamedAndDeletedTagsAreNotServedFromCache() {
+        transactionTemplate.execute(status -> tagResolver.resolve(List.of("java", "python")));
+        Tag java = tagRepository.findByName("java").orElseThrow();
+        Tag python = tagRepository.findByName("python").orElseThrow();
+
+        tagService.update(java.getId(), new TagDTO("kotlin"));
+        tagService.deleteById(python.getId());
+
+        assertNull(tagNameCache.getIfPresent("java"));
+        assertNull(tagNameCache.getIfPresent("python"));
+        assertThrows(TagNotFoundException.class,
+                () -> transactionTemplate.execute(status -> tagResolver.findExistingIds(List.of("java"))));
+        assertThrows(TagNotFoundException.class,
+                () -> transactionTemplate.execute(status -> tagResolver.findExistingIds(List.of("python"))));
+    }
+
+    @Test
+    void testRolledBackTagIsNotCached() {
+        transactionTemplate.execute(status -> {
+            tagResolver.resolve(List.of("ghost"));
+            assertNull(tagNameCache.getIfPresent("ghost"));
+            status.setRollbackOnly();
+            return null;
+        });
+        assertNull(tagNameCache.getIfPresent("ghost"));
+        assertTrue(tagRepository.findByName("ghost").isEmpty());
+
+        blogPostService.create(new BlogPostDTO("Title", "Some text", List.of("ghost")));
+
+        Tag ghost = tagRepository.findByName("ghost").orElseThrow();
+        assertEquals(ghost.getId(), tagNameCache.getIfPresent("ghost"));
+        assertDoesNotThrow(() -> tagService.findByName("ghost"));
+    }
+
+    @Test
+    void testFindExistingFailsOnUnknownTag() {
+        tagRepository.save(Tag.builder().name("java").build());
+        assertThrows(TagNotFoundException.class,
+                () -> transactionTemplate.execute(status -> tagResolver.findExistingIds(List.of("java", "python"))));
+    }
+
+    @Test
+    void testConcurrentCreatesOfTheSameNewTagBothSucceed() {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        List<CompletableFuture<BlogPostDTO>> creates = IntStream.range(0, 2)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        barrier.await();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return blogPostService.create(new BlogPostDTO("Title " + i, "Some text", List.of("new-tag", "other-" + i)));
+                }))
+                .toList();
+
+        creates.forEach(create -> assertDoesNotThrow(() -> create.join()));
+        assertEquals(2, blogPostRepository.count());
+        assertEquals(3, tagRepository.count());
+        assertTrue(tagRepository.findByName("new-tag").isPresent());
+    }
+}
@@ -1,9 +1,14 @@
 package com.app.blog.service.impl;
 
+import com.app.blog.cache.BlogPostCache;
+import com.app.blog.cache.TagNameCache;
 import com.app.blog.model.Tag;
 import com.app.blog.model.dto.TagDTO;
+import com.app.blog.model.exception.TagAlreadyExistsException;
+import com.app.blog.model.mapper.TagMapper;
 import com.app.blog.repository.BlogPostRepository;
 import com.app.blog.repository.TagRepository;
+import com.app.blog.search.BlogPostSearchIndex;
 import com.app.blog.service.TagService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,10 +17,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 public class TagServiceImplementationTest {
@@ -24,6 +32,12 @@ public class TagServiceImplementationTest {
     private TagRepository tagRepository;
     @Mock
     private BlogPostRepository blogPostRepository;
+    @Mock
+    private TagNameCache tagNameCache;
+    @Mock
+    private BlogPostCache blogPostCache;
+    @Mock
+    private BlogPostSearchIndex searchIndex;
     private TagService tagService;
     AutoCloseable autoCloseable;
     Tag tag;
@@ -32,8 +46,16 @@ public class TagServiceImplementationTest {
     @BeforeEach
     void setUp() {
         autoCloseable = MockitoAnnotations.openMocks(this);
-        tagService = new TagServiceImplementation(tagRepository, blogPostRepository);
-        tag = new Tag("c#");
+        tagService = TagServiceImplementation.builder()
+                .tagRepository(tagRepository)
+                .blogPostRepository(blogPostRepository)
+                .tagNameCache(tagNameCache)
+                .tagMapper(new TagMapper())
+                .blogPostCache(blogPostCache)
+                .searchIndex(searchIndex)
+                .build();
+        when(tagNameCache.getIfPresent(any())).thenReturn(null);
+        tag = Tag.builder().name("c#").blogPosts(new HashSet<>()).build();
         tagDTO = new TagDTO(tag.getName());
     }
 
@@ -44,8 +66,8 @@ public class TagServiceImplementationTest {
 
     @Test
     void testFindAllTags() {
-        when(tagRepository.findAll()).thenReturn(
-                new ArrayList<Tag>(Collections.singleton(tag))
+        when(tagRepository.findAllNames()).thenReturn(
+                new ArrayList<TagDTO>(Collections.singleton(tagDTO))
         );
         assertEquals(tagService.findAll().getFirst(), new TagDTO(tag.getName()));
     }
@@ -59,15 +81,29 @@ public class TagServiceImplementationTest {
 
     @Test
     void testFindTagByName() {
-        when(tagRepository.findByName(tag.getName())).thenReturn(Optional.of(tag));
+        when(tagRepository.findByNaturalId(tag.getName())).thenReturn(Optional.of(tag));
         assertEquals(tagService.findByName(tag.getName()), new TagDTO(tag.getName()));
     }
 
+    @Test
+    void testFindTagByNameCached() {
+        when(tagNameCache.getIfPresent(tag.getName())).thenReturn(1L);
+        assertEquals(tagService.findByName(tag.getName()), new TagDTO(tag.getName()));
+        verify(tagRepository, never()).findByNaturalId(any());
+    }
+
     @Test
     void testCreateTag() {
-        when(tagRepository.save(tag)).thenReturn(tag);
+        when(tagRepository.save(any(Tag.class))).thenAnswer(invocation -> invocation.getArgument(0));
         TagDTO created = tagService.create(new TagDTO(tag.getName()));
         assertEquals(created.getName(), tag.getName());
+        verify(tagRepository).save(any(Tag.class));
+    }
+
+    @Test
+    void testCreateTagAlreadyExists() {
+        when(tagRepository.findByNaturalId(tag.getName())).thenReturn(Optional.of(tag));
+        assertThrows(TagAlreadyExistsException.class, () -> tagService.create(new TagDTO(tag.getName())));
     }
 
     @Test
@@ -75,8 +111,10 @@ public class TagServiceImplementationTest {
         tag.setId(1L);
         when(tagRepository.findById(1L)).thenReturn(Optional.of(tag));
         when(tagRepository.save(tag)).thenReturn(tag);
-        TagDTO edited = tagService.update(tag.getId(), new TagDTO(tag.getName()));
+        TagDTO edited = tagService.update(tag.getId(), new TagDTO("c sharp"));
         assertEquals(edited.getName(), tag.getName());
+        verify(blogPostRepository).incrementVersionsByTagId(1L);
+        verify(searchIndex).renameTag("c#", "c sharp");
     }
 
     @Test
@@ -85,5 +123,7 @@ public class TagServiceImplementationTest {
         when(tagRepository.findById(1L)).thenReturn(Optional.of(tag));
         doNothing().when(tagRepository).delete(tag);
         assertAll(() -> tagService.deleteById(tag.getId()));
+        verify(blogPostRepository).deleteTagLinksByTagId(1L);
+        verify(tagRepository).delete(tag);
     }
 }
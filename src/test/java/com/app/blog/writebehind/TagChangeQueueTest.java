@@ -0,0 +1,152 @@
+package com.app.blog.writebehind;
+
+import com.app.blog.cache.BlogPostCache;
+import com.app.blog.cache.TagNameCache;
+import com.app.blog.model.BlogPost;
+import com.app.blog.model.dto.TagChangeStatusDTO;
+import com.app.blog.model.dto.BlogPostDTO;
+import com.app.blog.repository.BlogPostRepository;
+import com.app.blog.repository.TagRepository;
+import com.app.blog.service.BlogPostService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "blog.write-behind.enabled=true",
+        // flushes are triggered by the tests, or by the size threshold
+        "blog.write-behind.flush-interval=1h",
+        "blog.write-behind.max-batch-size=5",
+        "blog.write-behind.max-pending=4"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class TagChangeQueueTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private TagChangeQueue tagChangeQueue;
+    @Autowired
+    private BlogPostService blogPostService;
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    @Autowired
+    private TagRepository tagRepository;
+    @Autowired
+    private BlogPostCache blogPostCache;
+    @Autowired
+    private TagNameCache tagNameCache;
+    Long id;
+
+    @BeforeEach
+    void setUp() {
+        blogPostService.create(new BlogPostDTO("Title", "Some text", List.of("java")));
+        id = blogPostRepository.findAll().getFirst().getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tagChangeQueue.flushAll();
+        blogPostRepository.deleteAll();
+        tagRepository.deleteAll();
+        blogPostCache.nativeCache().invalidateAll();
+        tagNameCache.nativeCache().invalidateAll();
+    }
+
+    @Test
+    void testChangesToOnePostAreCoalescedIntoOneWrite() throws Exception {
+        long version = version();
+        String first = accepted(this.mockMvc.perform(post("/blogs/" + id + "/tags").param("tags", "spring", "draft")));
+        accepted(this.mockMvc.perform(delete("/blogs/" + id + "/tags").param("tags", "draft", "java")));
+        accepted(this.mockMvc.perform(post("/blogs/" + id + "/tags").param("tags", "hibernate")));
+        this.mockMvc.perform(get("/blogs/tag-changes/" + first)).andExpect(jsonPath("$.status").value("PENDING"));
+
+        tagChangeQueue.flushAll();
+
+        this.mockMvc.perform(get("/blogs/tag-changes/" + first)).andExpect(jsonPath("$.status").value("APPLIED"));
+        assertEquals(List.of("hibernate", "spring"), blogPostService.findById(id).getTags().stream().sorted().toList());
+        assertEquals(version + 1, version());
+        // the add and remove of "draft" collapsed into a remove of a tag that never existed
+        assertEquals(0, tagRepository.findByName("draft").stream().count());
+    }
+
+    @Test
+    void testSizeThresholdFlushesWithoutWaitingForTheInterval() throws Exception {
+        String change = accepted(this.mockMvc.perform(post("/blogs/" + id + "/tags").param("tags", "a", "b", "c", "d", "e")));
+        for (int i = 0; i < 100 && tagChangeQueue.status(change).getStatus() != TagChangeStatusDTO.Status.APPLIED; i++) {
+            Thread.sleep(50);
+        }
+        this.mockMvc.perform(get("/blogs/tag-changes/" + change)).andExpect(jsonPath("$.status").value("APPLIED"));
+        assertEquals(6, blogPostService.findById(id).getTags().size());
+    }
+
+    @Test
+    void testFullQueueIsTurnedAway() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            accepted(this.mockMvc.perform(post("/blogs/" + id + "/tags").param("tags", "tag" + i)));
+        }
+        this.mockMvc.perform(post("/blogs/" + id + "/tags").param("tags", "one-too-many"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+
+        tagChangeQueue.flushAll();
+
+        accepted(this.mockMvc.perform(post("/blogs/" + id + "/tags").param("tags", "one-too-many")));
+    }
+
+    @Test
+    void testFailedFlushIsReported() throws Exception {
+        String change = accepted(this.mockMvc.perform(post("/blogs/" + (id + 1000) + "/tags").param("tags", "spring")));
+        tagChangeQueue.flushAll();
+        this.mockMvc.perform(get("/blogs/tag-changes/" + change))
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.message").value("Blog post not found"));
+    }
+
+    @Test
+    void testStopFlushesPendingChanges() throws Exception {
+        accepted(this.mockMvc.perform(post("/blogs/" + id + "/tags").param("tags", "spring")));
+        tagChangeQueue.stop();
+        try {
+            assertEquals(2, blogPostService.findById(id).getTags().size());
+            this.mockMvc.perform(post("/blogs/" + id + "/tags").param("tags", "late"))
+                    .andExpect(status().isServiceUnavailable());
+        } finally {
+            tagChangeQueue.start();
+        }
+    }
+
+    @Test
+    void testUnknownChangeIsNotFound() throws Exception {
+        this.mockMvc.perform(get("/blogs/tag-changes/unknown")).andExpect(status().isNotFound());
+    }
+
+    private String accepted(ResultActions result) throws Exception {
+        String location = result.andExpect(status().isAccepted())
+                .andExpect(header().string("Location", startsWith("/blogs/tag-changes/")))
+                .andReturn().getResponse().getHeader("Location");
+        return location.substring(location.lastIndexOf('/') + 1);
+    }
+
+    private long version() {
+        return blogPostRepository.findById(id).map(BlogPost::getVersion).orElseThrow();
+    }
+}